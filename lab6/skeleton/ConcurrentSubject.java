@@ -0,0 +1,122 @@
+package skeleton;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Subject that can be used from many threads at once.
+ * 
+ * Observers are kept in registration order under a sequence number, and
+ * register and unregister take O(log n) time without locking the queue, so
+ * every customer leaving stays cheap even with long queues. Notifying walks
+ * an array of the observers registered before the message was received;
+ * the array is copied from the queue only when the queue changed since the
+ * last notification, not on every register or unregister. An observer may
+ * unsubscribe while it is being notified.
+ */
+public class ConcurrentSubject implements Observable {
+	private final AtomicLong nextSequence = new AtomicLong();
+	// Sequence number of each observer, and observers by sequence number.
+	private final ConcurrentMap<Observer, Long> sequences = new ConcurrentHashMap<>();
+	private final ConcurrentSkipListMap<Long, Observer> observers = new ConcurrentSkipListMap<>();
+	// Incremented after every change of the queue.
+	private final AtomicLong version = new AtomicLong();
+	private volatile Snapshot snapshot = new Snapshot(0, new Observer[0]);
+	private final AtomicBoolean changed = new AtomicBoolean();
+	private volatile String message;
+	// The message an observer is being notified of on this thread, which
+	// may be older than the latest message when messages are sent concurrently.
+	private final ThreadLocal<String> notifying = new ThreadLocal<>();
+
+	@Override
+	public void register(Observer obj) {
+		// Both maps are updated inside compute, which is atomic for the observer.
+		// The version changes only if the observer was not registered yet.
+		sequences.computeIfAbsent(obj, key -> {
+			long sequence = nextSequence.getAndIncrement();
+			observers.put(sequence, obj);
+			version.incrementAndGet();
+			return sequence;
+		});
+	}
+
+	@Override
+	public void unregister(Observer obj) {
+		// The version changes only if the observer was registered.
+		sequences.computeIfPresent(obj, (key, sequence) -> {
+			observers.remove(sequence);
+			version.incrementAndGet();
+			return null;
+		});
+	}
+
+	@Override
+	public void notifyObservers() {
+		if (changed.compareAndSet(true, false)) {
+			notifyObservers(message);
+		}
+	}
+
+	private void notifyObservers(String msg) {
+		Observer[] current = snapshot();
+		String previous = notifying.get();
+		notifying.set(msg);
+		try {
+			for (Observer obj : current) {
+				obj.update();
+			}
+		} finally {
+			notifying.set(previous);
+		}
+	}
+
+	@Override
+	public void setMessage(String msg) {
+		this.message = msg;
+		notifyObservers(msg);
+	}
+
+	@Override
+	public String getMessage() {
+		String msg = notifying.get();
+		return msg != null ? msg : message;
+	}
+
+	@Override
+	public void setChanged(boolean changed) {
+		this.changed.set(changed);
+	}
+
+	@Override
+	public List<Observer> getQueue() {
+		return new ArrayList<>(observers.values());
+	}
+
+	private Observer[] snapshot() {
+		// Read the version first: a change made while copying bumps it again,
+		// so the copy is made anew on the next notification.
+		long current = version.get();
+		Snapshot last = snapshot;
+		if (last.version == current) {
+			return last.observers;
+		}
+		Observer[] copy = observers.values().toArray(new Observer[0]);
+		snapshot = new Snapshot(current, copy);
+		return copy;
+	}
+
+	private static final class Snapshot {
+		final long version;
+		final Observer[] observers;
+
+		Snapshot(long version, Observer[] observers) {
+			this.version = version;
+			this.observers = observers;
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package skeleton;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Throughput of Subject and ConcurrentSubject with 10,000 and more observers.
+ * 
+ * Not run by any build; run it by hand from the directory containing skeleton/:
+ * javac skeleton/*.java && java skeleton.ConcurrentSubjectBenchmark
+ */
+public class ConcurrentSubjectBenchmark {
+	static final int[] OBSERVERS = { 10_000, 50_000 };
+	static final int NOTIFICATIONS = 200;
+	static final int THREADS = 4;
+
+	public static void main(String[] args) throws Exception {
+		for (int n : OBSERVERS) {
+			// First round warms up the JIT.
+			for (int round = 0; round < 2; round++) {
+				boolean print = round == 1;
+				report(print, n, "Subject notify", notify(new Subject(), n), NOTIFICATIONS);
+				report(print, n, "ConcurrentSubject notify", notify(new ConcurrentSubject(), n), NOTIFICATIONS);
+				report(print, n, "ConcurrentSubject notify, " + THREADS + " threads",
+						notifyConcurrently(new ConcurrentSubject(), n), NOTIFICATIONS);
+				report(print, n, "Subject register+unregister", churn(new Subject(), n), n);
+				report(print, n, "ConcurrentSubject register+unregister", churn(new ConcurrentSubject(), n), n);
+			}
+		}
+	}
+
+	static long notify(Observable subject, int n) {
+		fill(subject, n);
+		long start = System.nanoTime();
+		for (int i = 0; i < NOTIFICATIONS; i++) {
+			subject.setMessage("0");
+		}
+		return System.nanoTime() - start;
+	}
+
+	static long notifyConcurrently(Observable subject, int n) throws Exception {
+		fill(subject, n);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			long start = System.nanoTime();
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < NOTIFICATIONS / THREADS; i++) {
+						subject.setMessage("0");
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			return System.nanoTime() - start;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	static long churn(Observable subject, int n) {
+		List<Observer> observers = new ArrayList<>();
+		for (int i = 1; i <= n; i++) {
+			observers.add(new Observer(i));
+		}
+		long start = System.nanoTime();
+		for (Observer obs : observers) {
+			subject.register(obs);
+		}
+		for (Observer obs : observers) {
+			subject.unregister(obs);
+		}
+		return System.nanoTime() - start;
+	}
+
+	static void fill(Observable subject, int n) {
+		for (int i = 1; i <= n; i++) {
+			subject.register(new Quiet(i));
+		}
+	}
+
+	static void report(boolean print, int n, String name, long nanos, int ops) {
+		if (print) {
+			System.out.println(String.format("%,7d observers  %-45s %,12.0f ops/s",
+					n, name, ops * 1e9 / nanos));
+		}
+	}
+
+	// Observer that stays in the queue and does no work.
+	static class Quiet extends Observer {
+		Quiet(int id) {
+			super(id);
+		}
+
+		@Override
+		public void update() {
+		}
+	}
+}
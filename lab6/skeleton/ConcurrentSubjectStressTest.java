@@ -0,0 +1,126 @@
+package skeleton;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stress tests of ConcurrentSubject with many threads and 10,000 observers.
+ * 
+ * The lab has no build, so nothing runs this automatically; run it by hand
+ * after changing ConcurrentSubject, from the directory containing skeleton/:
+ * javac skeleton/*.java && java skeleton.ConcurrentSubjectStressTest
+ */
+public class ConcurrentSubjectStressTest {
+	static final int OBSERVERS = 10_000;
+	static final int THREADS = 8;
+
+	public static void main(String[] args) throws Exception {
+		concurrentRegisterKeepsOneEntry();
+		customersLeaveWhileBeingNotified();
+		System.out.println("All stress tests passed.");
+	}
+
+	// Every thread registers every observer, then every thread unregisters them.
+	static void concurrentRegisterKeepsOneEntry() throws Exception {
+		ConcurrentSubject subject = new ConcurrentSubject();
+		List<Observer> observers = new ArrayList<>();
+		for (int i = 1; i <= OBSERVERS; i++) {
+			observers.add(new Observer(i));
+		}
+
+		runOnThreads(t -> {
+			for (Observer obs : observers) {
+				subject.register(obs);
+			}
+		});
+		List<Observer> queue = subject.getQueue();
+		check(queue.size() == OBSERVERS, "expected " + OBSERVERS + " observers but was " + queue.size());
+		check(new HashSet<>(queue).size() == OBSERVERS, "an observer is registered twice");
+
+		runOnThreads(t -> {
+			for (Observer obs : observers) {
+				subject.unregister(obs);
+			}
+		});
+		check(subject.getQueue().isEmpty(), "observers left after unregister: " + subject.getQueue().size());
+		System.out.println("concurrentRegisterKeepsOneEntry passed.");
+	}
+
+	// Threads announce every order concurrently while customers unsubscribe
+	// from within update(). In the end everybody has left the queue.
+	static void customersLeaveWhileBeingNotified() throws Exception {
+		ConcurrentSubject subject = new ConcurrentSubject();
+		List<Customer> customers = new ArrayList<>();
+		for (int i = 1; i <= OBSERVERS; i++) {
+			Customer customer = new Customer(i, subject);
+			subject.register(customer);
+			customers.add(customer);
+		}
+
+		runOnThreads(t -> {
+			for (int msg = t + 1; msg <= OBSERVERS + 7; msg += THREADS) {
+				subject.setMessage(String.valueOf(msg));
+			}
+		});
+		check(subject.getQueue().isEmpty(), "customers left in queue: " + subject.getQueue().size());
+		for (Customer customer : customers) {
+			check(customer.left.get() > 0, "customer " + customer.getID() + " never left");
+		}
+		System.out.println("customersLeaveWhileBeingNotified passed.");
+	}
+
+	static void runOnThreads(Task task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				final int thread = t;
+				futures.add(executor.submit(() -> {
+					task.run(thread);
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	static void check(boolean condition, String message) {
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+
+	interface Task {
+		void run(int thread) throws Exception;
+	}
+
+	// Same rule as Observer, without printing.
+	static class Customer extends Observer {
+		private final Observable subject;
+		final AtomicInteger left = new AtomicInteger();
+
+		Customer(int id, Observable subject) {
+			super(id);
+			this.subject = subject;
+			subscribe(subject);
+		}
+
+		@Override
+		public void update() {
+			int msg = Integer.parseInt(subject.getMessage());
+			if (msg == getID() || msg >= getID() + 7) {
+				left.incrementAndGet();
+				unsubscribe();
+			}
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package skeleton;
+
+import java.util.List;
+
+/**
+ * What an Observer subscribes to: Subject, or ConcurrentSubject when
+ * messages are sent from many threads.
+ */
+public interface Observable {
+	void register(Observer obj);
+
+	void unregister(Observer obj);
+
+	void notifyObservers();
+
+	void setMessage(String msg);
+
+	String getMessage();
+
+	void setChanged(boolean changed);
+
+	List<Observer> getQueue();
+}
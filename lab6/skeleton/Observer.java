@@ -2,7 +2,7 @@ package skeleton;
 
 public class Observer {
 	private int id;
-	private Subject subject;
+	private Observable subject;
 
 	public Observer(int id) {
 		this.id = id;
@@ -12,7 +12,7 @@ public class Observer {
 		return id;
 	}
 	
-	public void subscribe(Subject sub) {
+	public void subscribe(Observable sub) {
 		this.subject = sub;
 	}
 	
@@ -3,7 +3,7 @@ package skeleton;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Subject {
+public class Subject implements Observable {
 	private List<Observer> observers;
 	private String message;
 	private boolean changed;
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ChannelTokenSupplier} caching the token of an expensive delegate.
+ *
+ * <p>The token is held for {@code ttlMillis}. Once it is older than {@code ttlMillis - refreshAheadMillis}
+ * a single background refresh is started while callers keep getting the cached token.
+ * Only when the token is expired (or before the first load) do callers block, and then only one of them
+ * calls the delegate while the others wait for its result.</p>
+ *
+ * <p>If a background refresh fails, the cached token is used until it expires. The refresh is retried
+ * {@value #REFRESH_RETRY_MILLIS} milliseconds later at the earliest, so a failing delegate isn't
+ * called on every {@link #get()}.</p>
+ */
+@Slf4j
+@ToString(of = { "delegate", "ttlNanos", "refreshAheadNanos" })
+public class CachingChannelTokenSupplier implements ChannelTokenSupplier {
+    static final long REFRESH_RETRY_MILLIS = 5_000;
+
+    private static final ExecutorService DEFAULT_REFRESH_EXECUTOR =
+            Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "line-bot-channel-token-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final ChannelTokenSupplier delegate;
+    private final long ttlNanos;
+    private final long refreshAheadNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier ticker;
+
+    private final Object loadLock = new Object();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile CachedToken current;
+
+    /**
+     * Create a caching supplier refreshing on a shared daemon thread.
+     */
+    public static CachingChannelTokenSupplier of(@NonNull final ChannelTokenSupplier delegate,
+                                                 final long ttlMillis, final long refreshAheadMillis) {
+        return new CachingChannelTokenSupplier(delegate, ttlMillis, refreshAheadMillis,
+                                               DEFAULT_REFRESH_EXECUTOR);
+    }
+
+    public CachingChannelTokenSupplier(@NonNull final ChannelTokenSupplier delegate,
+                                       final long ttlMillis, final long refreshAheadMillis,
+                                       @NonNull final Executor refreshExecutor) {
+        this(delegate, ttlMillis, refreshAheadMillis, refreshExecutor, System::nanoTime);
+    }
+
+    CachingChannelTokenSupplier(final ChannelTokenSupplier delegate,
+                                final long ttlMillis, final long refreshAheadMillis,
+                                final Executor refreshExecutor, final LongSupplier ticker) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive: " + ttlMillis);
+        }
+        if (refreshAheadMillis < 0 || refreshAheadMillis >= ttlMillis) {
+            throw new IllegalArgumentException(
+                    "refreshAheadMillis must be between 0 and ttlMillis: " + refreshAheadMillis);
+        }
+        this.delegate = delegate;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.refreshAheadNanos = TimeUnit.MILLISECONDS.toNanos(refreshAheadMillis);
+        this.refreshExecutor = refreshExecutor;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public String get() {
+        final CachedToken token = current;
+        final long now = ticker.getAsLong();
+        if (token == null || now - token.getExpiresAt() >= 0) {
+            return load();
+        }
+        if (now - token.getRefreshAt() >= 0) {
+            refreshAsync(token);
+        }
+        return token.getToken();
+    }
+
+    private String load() {
+        synchronized (loadLock) {
+            final CachedToken token = current;
+            if (token != null && ticker.getAsLong() - token.getExpiresAt() < 0) {
+                // Loaded by another caller while waiting for the lock.
+                return token.getToken();
+            }
+            return fetch().getToken();
+        }
+    }
+
+    private void refreshAsync(final CachedToken token) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    synchronized (loadLock) {
+                        fetch();
+                    }
+                } catch (RuntimeException e) {
+                    postponeRefresh(token);
+                    log.warn("Failed to refresh channel token. Cached token is used until it expires.", e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            postponeRefresh(token);
+            refreshing.set(false);
+            log.warn("Failed to schedule channel token refresh.", e);
+        }
+    }
+
+    /**
+     * Records a failed refresh of the token, so the next one isn't started before
+     * {@value #REFRESH_RETRY_MILLIS} milliseconds have passed.
+     */
+    private void postponeRefresh(final CachedToken token) {
+        synchronized (loadLock) {
+            if (current != token) {
+                // Loaded by a caller meanwhile.
+                return;
+            }
+            final long retryAt = ticker.getAsLong() + TimeUnit.MILLISECONDS.toNanos(REFRESH_RETRY_MILLIS);
+            current = new CachedToken(token.getToken(), retryAt, token.getExpiresAt());
+        }
+    }
+
+    private CachedToken fetch() {
+        final long fetchedAt = ticker.getAsLong();
+        final String token = delegate.get();
+        if (token == null) {
+            throw new IllegalStateException("Channel token supplier returned null: " + delegate);
+        }
+        final CachedToken cachedToken = new CachedToken(token,
+                                                        fetchedAt + ttlNanos - refreshAheadNanos,
+                                                        fetchedAt + ttlNanos);
+        current = cachedToken;
+        return cachedToken;
+    }
+
+    @Value
+    private static class CachedToken {
+        String token;
+        long refreshAt;
+        long expiresAt;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import com.linecorp.bot.client.exception.GeneralLineMessagingException;
+
+/**
+ * Applies per-call deadlines to client futures.
+ *
+ * <p>On expiry the future is completed exceptionally, which cancels the underlying HTTP call.
+ */
+final class Deadlines {
+    private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+    private Deadlines() {
+    }
+
+    static <T> CompletableFuture<T> withDeadline(final Supplier<CompletableFuture<T>> call,
+                                                 final Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive: " + timeout);
+        }
+
+        final CompletableFuture<T> future = call.get();
+        if (future.isDone()) {
+            return future;
+        }
+
+        final ScheduledFuture<?> timer = SCHEDULER.schedule(
+                () -> future.completeExceptionally(new GeneralLineMessagingException(
+                        "Deadline exceeded after " + timeout.toMillis() + "ms", null,
+                        new TimeoutException())),
+                timeout.toNanos(), TimeUnit.NANOSECONDS);
+        future.whenComplete((result, throwable) -> timer.cancel(false));
+        return future;
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "line-bot-client-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.util.regex.Pattern;
+
+/**
+ * Maps request paths of {@link LineMessagingService} back to their endpoint templates,
+ * so path parameters don't explode the cardinality of logs and metrics.
+ *
+ * <p>The base path of the API end point, if any, is removed, so endpoints are the same behind a proxy.</p>
+ */
+final class Endpoints {
+    static final String MESSAGE_CONTENT = "/v2/bot/message/{messageId}/content";
+    static final String PROFILE = "/v2/bot/profile/{userId}";
+    static final String GROUP_LEAVE = "/v2/bot/group/{groupId}/leave";
+    static final String ROOM_LEAVE = "/v2/bot/room/{roomId}/leave";
+
+    private static final String API_ROOT = "/v2/bot/";
+    private static final Pattern MESSAGE_CONTENT_PATTERN = Pattern.compile("/v2/bot/message/[^/]+/content$");
+    private static final Pattern PROFILE_PATTERN = Pattern.compile("/v2/bot/profile/[^/]+$");
+    private static final Pattern GROUP_LEAVE_PATTERN = Pattern.compile("/v2/bot/group/[^/]+/leave$");
+    private static final Pattern ROOM_LEAVE_PATTERN = Pattern.compile("/v2/bot/room/[^/]+/leave$");
+
+    static String uriTemplate(final String fullPath) {
+        // Every endpoint is under /v2/bot/; IDs are single segments, so the last one is the API's.
+        final int api = fullPath.lastIndexOf(API_ROOT);
+        final String path = api > 0 ? fullPath.substring(api) : fullPath;
+        if (MESSAGE_CONTENT_PATTERN.matcher(path).find()) {
+            return MESSAGE_CONTENT;
+        }
+        if (PROFILE_PATTERN.matcher(path).find()) {
+            return PROFILE;
+        }
+        if (GROUP_LEAVE_PATTERN.matcher(path).find()) {
+            return GROUP_LEAVE;
+        }
+        if (ROOM_LEAVE_PATTERN.matcher(path).find()) {
+            return ROOM_LEAVE;
+        }
+        return path;
+    }
+
+    private Endpoints() {
+    }
+}
@@ -19,7 +19,6 @@ package com.linecorp.bot.client;
 import java.io.IOException;
 import java.util.function.Function;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 
 import com.linecorp.bot.client.exception.BadRequestException;
@@ -35,7 +34,7 @@ import okhttp3.ResponseBody;
 import retrofit2.Response;
 
 class ExceptionConverter implements Function<Response<?>, LineMessagingException> {
-    public static final ObjectReader OBJECT_READER = new ObjectMapper().readerFor(ErrorResponse.class);
+    public static final ObjectReader OBJECT_READER = LineBotJsonCodec.getDefault().getErrorResponseReader();
 
     @Override
     public LineMessagingException apply(Response<?> response) {
@@ -17,26 +17,76 @@
 package com.linecorp.bot.client;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
 
 import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import okhttp3.Headers;
 import okhttp3.Interceptor;
 import okhttp3.Request;
 import okhttp3.Response;
 
-@AllArgsConstructor(staticName = "forChannelTokenSupplier")
 class HeaderInterceptor implements Interceptor {
     private static final String USER_AGENT =
             "line-botsdk-java/" + HeaderInterceptor.class.getPackage().getImplementationVersion();
     private final ChannelTokenSupplier channelTokenSupplier;
+    private final Headers additionalHeaders;
+
+    /**
+     * Last supplied token and its {@code Authorization} header value.
+     * Rebuilt only when the supplier returns another token.
+     */
+    private volatile Authorization authorization;
+
+    private HeaderInterceptor(final ChannelTokenSupplier channelTokenSupplier,
+                              final Headers additionalHeaders) {
+        this.channelTokenSupplier = channelTokenSupplier;
+        this.additionalHeaders = additionalHeaders;
+    }
+
+    static HeaderInterceptor forChannelTokenSupplier(@NonNull ChannelTokenSupplier channelTokenSupplier) {
+        return new HeaderInterceptor(channelTokenSupplier, new Headers.Builder().build());
+    }
+
+    /**
+     * Returns a copy which also sets given headers on every request.
+     */
+    HeaderInterceptor withAdditionalHeaders(@NonNull Map<String, String> headers) {
+        final Headers.Builder builder = additionalHeaders.newBuilder();
+        headers.forEach(builder::set);
+        return new HeaderInterceptor(channelTokenSupplier, builder.build());
+    }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
+        final Request.Builder builder = chain.request().newBuilder()
+                                             .addHeader("Authorization", authorizationValue())
+                                             .addHeader("User-Agent", USER_AGENT);
+        for (int i = 0; i < additionalHeaders.size(); i++) {
+            builder.header(additionalHeaders.name(i), additionalHeaders.value(i));
+        }
+        return chain.proceed(builder.build());
+    }
+
+    private String authorizationValue() {
         final String channelToken = channelTokenSupplier.get();
-        Request request = chain.request().newBuilder()
-                               .addHeader("Authorization", "Bearer " + channelToken)
-                               .addHeader("User-Agent", USER_AGENT)
-                               .build();
-        return chain.proceed(request);
+        Authorization authorization = this.authorization;
+        if (authorization == null || !authorization.isFor(channelToken)) {
+            authorization = new Authorization(channelToken, "Bearer " + channelToken);
+            this.authorization = authorization;
+        }
+        return authorization.headerValue;
     }
 
+    @AllArgsConstructor
+    private static final class Authorization {
+        final String channelToken;
+        final String headerValue;
+
+        boolean isFor(final String channelToken) {
+            // Suppliers usually return the same instance; fall back to equals() for the others.
+            return this.channelToken == channelToken || Objects.equals(this.channelToken, channelToken);
+        }
+    }
 }
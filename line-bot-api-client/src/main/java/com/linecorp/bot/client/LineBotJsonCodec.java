@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import com.linecorp.bot.model.Multicast;
+import com.linecorp.bot.model.PushMessage;
+import com.linecorp.bot.model.ReplyMessage;
+import com.linecorp.bot.model.error.ErrorResponse;
+import com.linecorp.bot.model.event.CallbackRequest;
+import com.linecorp.bot.model.event.StreamingEventModule;
+import com.linecorp.bot.model.message.Message;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Jackson configuration shared by the webhook parser, the API client and error handling,
+ * with {@link ObjectReader}s and {@link ObjectWriter}s of hot types resolved up front.
+ *
+ * <p>Readers and writers are immutable and thread-safe; reusing them skips the type lookup
+ * {@code ObjectMapper#readValue(byte[], Class)} makes per call.</p>
+ *
+ * <p>If {@code com.fasterxml.jackson.module:jackson-module-afterburner} is on the classpath,
+ * {@link #getDefault()} and {@link #createStreaming()} register it to speed up (de)serialization
+ * with generated bytecode.</p>
+ */
+@Getter
+public final class LineBotJsonCodec {
+    private static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+    private static final LineBotJsonCodec DEFAULT =
+            new LineBotJsonCodec(withAfterburnerIfAvailable(createObjectMapper()));
+
+    @Getter(AccessLevel.NONE)
+    private final ObjectMapper objectMapper;
+    private final ObjectReader callbackRequestReader;
+    private final ObjectReader errorResponseReader;
+    private final ObjectWriter replyMessageWriter;
+    private final ObjectWriter pushMessageWriter;
+    private final ObjectWriter multicastWriter;
+    private final ObjectWriter messagesWriter;
+
+    private LineBotJsonCodec(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        callbackRequestReader = objectMapper.readerFor(CallbackRequest.class);
+        errorResponseReader = objectMapper.readerFor(ErrorResponse.class);
+        replyMessageWriter = objectMapper.writerFor(ReplyMessage.class);
+        pushMessageWriter = objectMapper.writerFor(PushMessage.class);
+        multicastWriter = objectMapper.writerFor(Multicast.class);
+        messagesWriter = objectMapper.writerFor(new TypeReference<List<Message>>() {});
+    }
+
+    /**
+     * Codec shared by default by {@link LineMessagingServiceBuilder}, {@code LineBotCallbackRequestParser}
+     * and error handling.
+     */
+    public static LineBotJsonCodec getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates a codec reading webhook events with {@link StreamingEventModule}, which avoids buffering
+     * each event until its {@code type} property is found.
+     *
+     * <p>The module reads a fixed list of properties per type, and skips the others. Properties added to
+     * the model are not read by it until it is updated too, so use it only if parsing of large webhook
+     * batches matters.</p>
+     */
+    public static LineBotJsonCodec createStreaming() {
+        return new LineBotJsonCodec(withAfterburnerIfAvailable(
+                createObjectMapper().registerModule(new StreamingEventModule())));
+    }
+
+    /**
+     * Creates a codec on the given {@link ObjectMapper}. It must not be reconfigured afterwards.
+     *
+     * @see #createObjectMapper()
+     */
+    public static LineBotJsonCodec create(@NonNull final ObjectMapper objectMapper) {
+        return new LineBotJsonCodec(objectMapper);
+    }
+
+    /**
+     * Returns a copy of the {@link ObjectMapper} of this codec, to build converters or
+     * other readers and writers on. Reconfiguring it doesn't affect this codec.
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper.copy();
+    }
+
+    /**
+     * Returns the writer of this codec for the type, e.g. {@link #getReplyMessageWriter()},
+     * or a new one for other types.
+     */
+    ObjectWriter writerFor(final Type type) {
+        if (type == ReplyMessage.class) {
+            return replyMessageWriter;
+        }
+        if (type == PushMessage.class) {
+            return pushMessageWriter;
+        }
+        if (type == Multicast.class) {
+            return multicastWriter;
+        }
+        return objectMapper.writerFor(objectMapper.getTypeFactory().constructType(type));
+    }
+
+    ObjectReader readerFor(final Type type) {
+        return objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type));
+    }
+
+    /**
+     * Reads a webhook request body, keeping event content lazy if the mapper has
+     * {@link StreamingEventModule#lazyContent()} registered.
+     */
+    public CallbackRequest readCallbackRequest(final byte[] payload) throws IOException {
+        return callbackRequestReader.withAttribute(StreamingEventModule.PAYLOAD, payload).readValue(payload);
+    }
+
+    /**
+     * Creates an {@link ObjectMapper} configured for LINE Messaging API.
+     */
+    public static ObjectMapper createObjectMapper() {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        // Register JSR-310(java.time.temporal.*) module and read number as millsec.
+        objectMapper.registerModule(new JavaTimeModule())
+                    .configure(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS, false);
+        return objectMapper;
+    }
+
+    private static ObjectMapper withAfterburnerIfAvailable(final ObjectMapper objectMapper) {
+        try {
+            final Class<?> moduleClass =
+                    Class.forName(AFTERBURNER_MODULE, true, LineBotJsonCodec.class.getClassLoader());
+            return objectMapper.registerModule((Module) moduleClass.newInstance());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Not on the classpath, or incompatible with jackson-databind in use.
+            return objectMapper;
+        }
+    }
+}
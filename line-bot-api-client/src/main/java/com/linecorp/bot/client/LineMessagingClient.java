@@ -16,6 +16,7 @@
 
 package com.linecorp.bot.client;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 
 import com.linecorp.bot.model.Multicast;
@@ -86,4 +87,74 @@ public interface LineMessagingClient {
      * @see <a href="https://devdocs.line.me?java#leave">//devdocs.line.me#leave</a>
      */
     CompletableFuture<BotApiResponse> leaveRoom(String roomId);
+
+    /**
+     * Same as {@link #replyMessage(ReplyMessage)}, but fails with {@link java.util.concurrent.TimeoutException} cause
+     * and cancels the HTTP call when no response arrives within {@code timeout}.
+     */
+    default CompletableFuture<BotApiResponse> replyMessage(ReplyMessage replyMessage, Duration timeout) {
+        return Deadlines.withDeadline(() -> replyMessage(replyMessage), timeout);
+    }
+
+    /**
+     * Same as {@link #pushMessage(PushMessage)}, but fails with {@link java.util.concurrent.TimeoutException} cause
+     * and cancels the HTTP call when no response arrives within {@code timeout}.
+     */
+    default CompletableFuture<BotApiResponse> pushMessage(PushMessage pushMessage, Duration timeout) {
+        return Deadlines.withDeadline(() -> pushMessage(pushMessage), timeout);
+    }
+
+    /**
+     * Same as {@link #multicast(Multicast)}, but fails with {@link java.util.concurrent.TimeoutException} cause
+     * and cancels the HTTP call when no response arrives within {@code timeout}.
+     */
+    default CompletableFuture<BotApiResponse> multicast(Multicast multicast, Duration timeout) {
+        return Deadlines.withDeadline(() -> multicast(multicast), timeout);
+    }
+
+    /**
+     * Same as {@link #getMessageContent(String)}, but fails with {@link java.util.concurrent.TimeoutException} cause
+     * and cancels the HTTP call when no response arrives within {@code timeout}.
+     */
+    default CompletableFuture<MessageContentResponse> getMessageContent(String messageId, Duration timeout) {
+        return Deadlines.withDeadline(() -> getMessageContent(messageId), timeout);
+    }
+
+    /**
+     * Same as {@link #getProfile(String)}, but fails with {@link java.util.concurrent.TimeoutException} cause
+     * and cancels the HTTP call when no response arrives within {@code timeout}.
+     */
+    default CompletableFuture<UserProfileResponse> getProfile(String userId, Duration timeout) {
+        return Deadlines.withDeadline(() -> getProfile(userId), timeout);
+    }
+
+    /**
+     * Same as {@link #leaveGroup(String)}, but fails with {@link java.util.concurrent.TimeoutException} cause
+     * and cancels the HTTP call when no response arrives within {@code timeout}.
+     */
+    default CompletableFuture<BotApiResponse> leaveGroup(String groupId, Duration timeout) {
+        return Deadlines.withDeadline(() -> leaveGroup(groupId), timeout);
+    }
+
+    /**
+     * Same as {@link #leaveRoom(String)}, but fails with {@link java.util.concurrent.TimeoutException} cause
+     * and cancels the HTTP call when no response arrives within {@code timeout}.
+     */
+    default CompletableFuture<BotApiResponse> leaveRoom(String roomId, Duration timeout) {
+        return Deadlines.withDeadline(() -> leaveRoom(roomId), timeout);
+    }
+
+    /**
+     * Same as {@link #replyMessage(ReplyMessage)}, sending messages serialized in advance.
+     */
+    default CompletableFuture<BotApiResponse> replyMessage(String replyToken, PreparedMessages messages) {
+        return replyMessage(new ReplyMessage(replyToken, messages.getMessages()));
+    }
+
+    /**
+     * Same as {@link #pushMessage(PushMessage)}, sending messages serialized in advance.
+     */
+    default CompletableFuture<BotApiResponse> pushMessage(String to, PreparedMessages messages) {
+        return pushMessage(new PushMessage(to, messages.getMessages()));
+    }
 }
@@ -49,6 +49,17 @@ public class LineMessagingClientImpl implements LineMessagingClient {
         return toFuture(retrofitImpl.pushMessage(pushMessage));
     }
 
+    @Override
+    public CompletableFuture<BotApiResponse> replyMessage(final String replyToken,
+                                                          final PreparedMessages messages) {
+        return toFuture(retrofitImpl.replyPreparedMessage(messages.toReplyMessageBody(replyToken)));
+    }
+
+    @Override
+    public CompletableFuture<BotApiResponse> pushMessage(final String to, final PreparedMessages messages) {
+        return toFuture(retrofitImpl.pushPreparedMessage(messages.toPushMessageBody(to)));
+    }
+
     @Override
     public CompletableFuture<BotApiResponse> multicast(final Multicast multicast) {
         return toFuture(retrofitImpl.multicast(multicast));
@@ -77,13 +88,28 @@ public class LineMessagingClientImpl implements LineMessagingClient {
     private static <T> CompletableFuture<T> toFuture(Call<T> callToWrap) {
         final CallbackAdaptor<T> completableFuture = new CallbackAdaptor<>();
         callToWrap.enqueue(completableFuture);
-        return completableFuture;
+        return cancelCallOnAbnormalCompletion(completableFuture, callToWrap);
     }
 
     private static CompletableFuture<MessageContentResponse> toMessageContentResponseFuture(
             final Call<ResponseBody> callToWrap) {
         final ResponseBodyCallbackAdaptor future = new ResponseBodyCallbackAdaptor();
         callToWrap.enqueue(future);
+        return cancelCallOnAbnormalCompletion(future, callToWrap);
+    }
+
+    /**
+     * Cancels the HTTP call when the future is cancelled or completed exceptionally by the caller,
+     * e.g. on deadline, so it doesn't keep occupying a dispatcher slot and a connection.
+     * It's no-op for calls already finished.
+     */
+    private static <T> CompletableFuture<T> cancelCallOnAbnormalCompletion(
+            final CompletableFuture<T> future, final Call<?> call) {
+        future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                call.cancel();
+            }
+        });
         return future;
     }
 
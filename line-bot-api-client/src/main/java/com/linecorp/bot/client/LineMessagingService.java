@@ -22,6 +22,7 @@ import com.linecorp.bot.model.ReplyMessage;
 import com.linecorp.bot.model.profile.UserProfileResponse;
 import com.linecorp.bot.model.response.BotApiResponse;
 
+import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
@@ -56,6 +57,22 @@ public interface LineMessagingService {
     @POST("v2/bot/message/push")
     Call<BotApiResponse> pushMessage(@Body PushMessage pushMessage);
 
+    /**
+     * Same as {@link #replyMessage(ReplyMessage)} with an already serialized body.
+     *
+     * @see PreparedMessages#toReplyMessageBody(String)
+     */
+    @POST("v2/bot/message/reply")
+    Call<BotApiResponse> replyPreparedMessage(@Body RequestBody replyMessage);
+
+    /**
+     * Same as {@link #pushMessage(PushMessage)} with an already serialized body.
+     *
+     * @see PreparedMessages#toPushMessageBody(String)
+     */
+    @POST("v2/bot/message/push")
+    Call<BotApiResponse> pushPreparedMessage(@Body RequestBody pushMessage);
+
     /**
      * Send messages to multiple users at any time. <strong>IDs of groups or rooms cannot be used.</strong>
      *
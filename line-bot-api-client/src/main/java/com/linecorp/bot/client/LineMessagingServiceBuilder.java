@@ -18,34 +18,38 @@ package com.linecorp.bot.client;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.NonNull;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
-import retrofit2.converter.jackson.JacksonConverterFactory;
 
 public final class LineMessagingServiceBuilder {
     public static final String DEFAULT_API_END_POINT = "https://api.line.me/";
     public static final long DEFAULT_CONNECT_TIMEOUT = 10_000;
     public static final long DEFAULT_READ_TIMEOUT = 10_000;
     public static final long DEFAULT_WRITE_TIMEOUT = 10_000;
+    /** Threads of the default callback executor; same as OkHttp's default limit of requests in flight. */
+    public static final int DEFAULT_CALLBACK_THREADS = 64;
+    /** Completions the default callback executor queues before running them on OkHttp's threads. */
+    public static final int DEFAULT_CALLBACK_QUEUE_SIZE = 1024;
 
     private String apiEndPoint = DEFAULT_API_END_POINT;
     private long connectTimeout = DEFAULT_CONNECT_TIMEOUT;
     private long readTimeout = DEFAULT_READ_TIMEOUT;
     private long writeTimeout = DEFAULT_WRITE_TIMEOUT;
     private List<Interceptor> interceptors = new ArrayList<>();
+    private Map<String, String> additionalHeaders = new LinkedHashMap<>();
+    private Executor callbackExecutor;
+    private boolean streamingRequestBodies;
 
     private OkHttpClient.Builder okHttpClientBuilder;
     private Retrofit.Builder retrofitBuilder;
@@ -116,6 +120,57 @@ public final class LineMessagingServiceBuilder {
         return this;
     }
 
+    /**
+     * Add a header sent with every request, along with {@code Authorization} and {@code User-Agent}.
+     *
+     * <p>The value is fixed at {@link #build()}; it's not evaluated per request.</p>
+     */
+    public LineMessagingServiceBuilder additionalHeader(@NonNull String name, @NonNull String value) {
+        this.additionalHeaders.put(name, value);
+        return this;
+    }
+
+    /**
+     * Replace the default wire logging interceptor, which logs request and response lines only.
+     * Use this to log headers or bodies, e.g. with {@link WireLoggingInterceptor.Level#BODY}.
+     *
+     * @see WireLoggingInterceptor#builder()
+     */
+    public LineMessagingServiceBuilder wireLogging(@NonNull WireLoggingInterceptor wireLoggingInterceptor) {
+        this.interceptors.removeIf(interceptor -> interceptor instanceof WireLoggingInterceptor);
+        this.interceptors.add(wireLoggingInterceptor);
+        return this;
+    }
+
+    /**
+     * Write request bodies to the connection as they're serialized, without buffering them first.
+     * They're sent with chunked transfer encoding then, as their length isn't known in advance.
+     * Default: {@code false}.
+     *
+     * <p>Only applies to the default {@link Retrofit.Builder}.</p>
+     */
+    public LineMessagingServiceBuilder streamingRequestBodies(final boolean streamingRequestBodies) {
+        this.streamingRequestBodies = streamingRequestBodies;
+        return this;
+    }
+
+    /**
+     * Set the executor that completes futures returned by the client.
+     *
+     * <p>By default, futures are completed on a shared daemon pool instead of OkHttp's dispatcher threads,
+     * so continuations that block (e.g. replying from {@code whenComplete}) can't hold dispatcher slots
+     * and starve the very calls they wait for. Pass {@code Runnable::run} to complete them on
+     * OkHttp's threads as before.</p>
+     *
+     * <p>The default pool has {@value #DEFAULT_CALLBACK_THREADS} threads and queues up to
+     * {@value #DEFAULT_CALLBACK_QUEUE_SIZE} completions. Beyond that, completions run on OkHttp's
+     * threads, slowing down responses instead of creating threads without limit.</p>
+     */
+    public LineMessagingServiceBuilder callbackExecutor(@NonNull Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        return this;
+    }
+
     /**
      * Remove all interceptors
      */
@@ -155,6 +210,9 @@ public final class LineMessagingServiceBuilder {
      * <p>If you want to use your own setting, specify {@link Retrofit.Builder} instance.</p>
      *
      * <p>ref: {@link LineMessagingServiceBuilder#createDefaultRetrofitBuilder()} ()}.</p>
+     *
+     * <p>The default callback executor isn't applied to a given builder;
+     * use {@link #callbackExecutor(Executor)} to set one.</p>
      */
     public LineMessagingServiceBuilder retrofitBuilder(@NonNull Retrofit.Builder retrofitBuilder) {
         this.retrofitBuilder = retrofitBuilder;
@@ -169,6 +227,12 @@ public final class LineMessagingServiceBuilder {
             okHttpClientBuilder = new OkHttpClient.Builder();
         }
 
+        if (!additionalHeaders.isEmpty()) {
+            interceptors.replaceAll(interceptor -> interceptor instanceof HeaderInterceptor
+                                                   ? ((HeaderInterceptor) interceptor)
+                                                           .withAdditionalHeaders(additionalHeaders)
+                                                   : interceptor);
+        }
         interceptors.forEach(okHttpClientBuilder::addInterceptor);
         okHttpClientBuilder
                 .connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
@@ -178,7 +242,13 @@ public final class LineMessagingServiceBuilder {
         final OkHttpClient okHttpClient = okHttpClientBuilder.build();
 
         if (retrofitBuilder == null) {
-            retrofitBuilder = createDefaultRetrofitBuilder();
+            retrofitBuilder = createDefaultRetrofitBuilder(streamingRequestBodies);
+            if (callbackExecutor == null) {
+                callbackExecutor = DefaultCallbackExecutor.INSTANCE;
+            }
+        }
+        if (callbackExecutor != null) {
+            retrofitBuilder.callbackExecutor(callbackExecutor);
         }
         retrofitBuilder.client(okHttpClient);
         retrofitBuilder.baseUrl(apiEndPoint);
@@ -188,26 +258,40 @@ public final class LineMessagingServiceBuilder {
     }
 
     private static List<Interceptor> defaultInterceptors(final ChannelTokenSupplier channelTokenSupplier) {
-        final Logger slf4jLogger = LoggerFactory.getLogger("com.linecorp.bot.client.wire");
-        final HttpLoggingInterceptor httpLoggingInterceptor =
-                new HttpLoggingInterceptor(message -> slf4jLogger.info("{}", message));
-        httpLoggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-
         return Arrays.asList(
                 HeaderInterceptor.forChannelTokenSupplier(channelTokenSupplier),
-                httpLoggingInterceptor
+                WireLoggingInterceptor.create()
         );
     }
 
-    private static Retrofit.Builder createDefaultRetrofitBuilder() {
-        final ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static Retrofit.Builder createDefaultRetrofitBuilder(final boolean streamingRequestBodies) {
+        final StreamingJacksonConverterFactory converterFactory =
+                StreamingJacksonConverterFactory.create(LineBotJsonCodec.getDefault());
+        return new Retrofit.Builder()
+                .addConverterFactory(streamingRequestBodies ? converterFactory.withStreamingRequestBodies()
+                                                            : converterFactory);
+    }
 
-        // Register JSR-310(java.time.temporal.*) module and read number as millsec.
-        objectMapper.registerModule(new JavaTimeModule())
-                    .configure(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS, false);
+    static final class DefaultCallbackExecutor {
+        static final Executor INSTANCE = create(DEFAULT_CALLBACK_THREADS, DEFAULT_CALLBACK_QUEUE_SIZE);
 
-        return new Retrofit.Builder()
-                .addConverterFactory(JacksonConverterFactory.create(objectMapper));
+        private DefaultCallbackExecutor() {
+        }
+
+        static ThreadPoolExecutor create(final int threads, final int queueSize) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                    runnable -> {
+                        final Thread thread = new Thread(
+                                runnable, "line-bot-client-callback-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    // When saturated, complete on OkHttp's thread as without this executor.
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
     }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * OkHttp interceptor recording a {@link Timer} per {@link LineMessagingService} endpoint.
+ *
+ * <p>Meters are named {@value #METER_NAME} and tagged with {@code method}, {@code uri}
+ * (path parameters replaced by their names) and {@code status} ({@code IO_ERROR} when no response
+ * was received).</p>
+ *
+ * <p>Requires {@code io.micrometer:micrometer-core} on the classpath.</p>
+ */
+@AllArgsConstructor(staticName = "of")
+public class MetricsInterceptor implements Interceptor {
+    public static final String METER_NAME = "line.bot.client.requests";
+
+    @NonNull
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final long start = System.nanoTime();
+        String status = "IO_ERROR";
+        try {
+            final Response response = chain.proceed(request);
+            status = Integer.toString(response.code());
+            return response;
+        } finally {
+            meterRegistry.timer(METER_NAME,
+                                "method", request.method(),
+                                "uri", Endpoints.uriTemplate(request.url().encodedPath()),
+                                "status", status)
+                         .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import com.linecorp.bot.model.PushMessage;
+import com.linecorp.bot.model.ReplyMessage;
+import com.linecorp.bot.model.message.Message;
+
+import lombok.Getter;
+import lombok.NonNull;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+
+/**
+ * Messages serialized once, to be sent many times without serializing them again.
+ *
+ * <p>Request bodies of {@link ReplyMessage} and {@link PushMessage} are assembled by splicing
+ * the reply token or the recipient with the cached JSON. Prepare messages which are sent as is
+ * over and over, like fixed templates, and keep the instance; it's immutable and thread-safe.</p>
+ *
+ * <pre>{@code
+ * private static final PreparedMessages MENU = PreparedMessages.of(new TemplateMessage(...));
+ *
+ * lineMessagingClient.replyMessage(event.getReplyToken(), MENU);
+ * }</pre>
+ *
+ * @see LineMessagingClient#replyMessage(String, PreparedMessages)
+ * @see LineMessagingClient#pushMessage(String, PreparedMessages)
+ */
+public final class PreparedMessages {
+    private static final MediaType JSON = MediaType.parse("application/json; charset=UTF-8");
+    private static final byte[] REPLY_PREFIX = "{\"replyToken\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PUSH_PREFIX = "{\"to\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MESSAGES_SEPARATOR = "\",\"messages\":".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Prepared messages, not modifiable.
+     */
+    @Getter
+    private final List<Message> messages;
+
+    /**
+     * JSON array of messages, followed by the closing brace of the request body.
+     */
+    private final byte[] suffix;
+
+    private PreparedMessages(final List<Message> messages, final byte[] suffix) {
+        this.messages = messages;
+        this.suffix = suffix;
+    }
+
+    /**
+     * Serializes messages with {@link LineBotJsonCodec#getDefault()}.
+     */
+    public static PreparedMessages of(@NonNull final Message... messages) {
+        return of(Arrays.asList(messages));
+    }
+
+    /**
+     * Serializes messages with {@link LineBotJsonCodec#getDefault()}.
+     */
+    public static PreparedMessages of(@NonNull final List<Message> messages) {
+        return of(LineBotJsonCodec.getDefault(), messages);
+    }
+
+    /**
+     * Serializes messages with the given codec.
+     *
+     * @throws IllegalArgumentException if messages can't be serialized.
+     */
+    public static PreparedMessages of(@NonNull final LineBotJsonCodec codec,
+                                      @NonNull final List<Message> messages) {
+        final List<Message> copy = Collections.unmodifiableList(new ArrayList<>(messages));
+        final byte[] array;
+        try {
+            array = codec.getMessagesWriter().writeValueAsBytes(copy);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize messages", e);
+        }
+        final byte[] suffix = Arrays.copyOf(array, array.length + 1);
+        suffix[array.length] = '}';
+        return new PreparedMessages(copy, suffix);
+    }
+
+    /**
+     * Request body of {@link ReplyMessage} with the given reply token and these messages.
+     */
+    public RequestBody toReplyMessageBody(@NonNull final String replyToken) {
+        return RequestBody.create(JSON, splice(REPLY_PREFIX, replyToken));
+    }
+
+    /**
+     * Request body of {@link PushMessage} to the given recipient with these messages.
+     */
+    public RequestBody toPushMessageBody(@NonNull final String to) {
+        return RequestBody.create(JSON, splice(PUSH_PREFIX, to));
+    }
+
+    private byte[] splice(final byte[] prefix, final String value) {
+        final byte[] quoted = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+        final byte[] body = new byte[prefix.length + quoted.length + MESSAGES_SEPARATOR.length + suffix.length];
+        int position = 0;
+        System.arraycopy(prefix, 0, body, position, prefix.length);
+        position += prefix.length;
+        System.arraycopy(quoted, 0, body, position, quoted.length);
+        position += quoted.length;
+        System.arraycopy(MESSAGES_SEPARATOR, 0, body, position, MESSAGES_SEPARATOR.length);
+        position += MESSAGES_SEPARATOR.length;
+        System.arraycopy(suffix, 0, body, position, suffix.length);
+        return body;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.linecorp.bot.model.Multicast;
+import com.linecorp.bot.model.PushMessage;
+import com.linecorp.bot.model.ReplyMessage;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+import com.linecorp.bot.model.response.BotApiResponse;
+
+import lombok.NonNull;
+
+/**
+ * {@link LineMessagingClient} caching {@link #getProfile(String)} results per user ID.
+ *
+ * <p>Profiles are kept for {@code ttlMillis}. Concurrent lookups of the same user ID share a single
+ * API call. Failed lookups are not cached. When more than {@code maxSize} profiles are cached, the
+ * earliest loaded ones are dropped, down to 7/8 of {@code maxSize}. Lookups in flight are not dropped.</p>
+ *
+ * <p>Call {@link #invalidate(String)} when a profile is known to be stale, e.g. on {@code UnfollowEvent}.
+ * All other methods are delegated as is.</p>
+ */
+public class ProfileCachingLineMessagingClient implements LineMessagingClient {
+    private final LineMessagingClient delegate;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier ticker;
+
+    private final int lowWaterMark;
+
+    private final Map<String, CachedProfile> profiles = new ConcurrentHashMap<>();
+    // Cached profiles in load order, including ones already invalidated or reloaded.
+    private final Queue<QueuedProfile> loadOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public ProfileCachingLineMessagingClient(@NonNull final LineMessagingClient delegate,
+                                             final long ttlMillis, final int maxSize) {
+        this(delegate, ttlMillis, maxSize, System::nanoTime);
+    }
+
+    ProfileCachingLineMessagingClient(final LineMessagingClient delegate,
+                                      final long ttlMillis, final int maxSize, final LongSupplier ticker) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive: " + ttlMillis);
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.delegate = delegate;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxSize = maxSize;
+        lowWaterMark = maxSize - maxSize / 8;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public CompletableFuture<UserProfileResponse> getProfile(final String userId) {
+        final CachedProfile created = new CachedProfile();
+        final CachedProfile cached = profiles.compute(
+                userId, (key, existing) -> existing != null && existing.isUsable(ticker.getAsLong())
+                                           ? existing : created);
+        if (cached == created) {
+            delegate.getProfile(userId).whenComplete((profile, throwable) -> {
+                if (throwable != null) {
+                    profiles.remove(userId, created);
+                    created.future.completeExceptionally(throwable);
+                } else {
+                    created.expiresAt = ticker.getAsLong() + ttlNanos;
+                    created.future.complete(profile);
+                }
+            });
+            enqueue(new QueuedProfile(userId, created));
+            evictIfNecessary();
+        }
+
+        // Callers can't complete or cancel the cached future.
+        return cached.future.thenApply(Function.identity());
+    }
+
+    /**
+     * Drop the cached profile of the user.
+     */
+    public void invalidate(@NonNull final String userId) {
+        profiles.remove(userId);
+    }
+
+    /**
+     * Drop all cached profiles.
+     */
+    public void invalidateAll() {
+        profiles.clear();
+    }
+
+    /**
+     * Number of cached profiles, including lookups in flight.
+     */
+    public int size() {
+        return profiles.size();
+    }
+
+    private void evictIfNecessary() {
+        if (profiles.size() <= maxSize && queued.get() <= 2L * maxSize
+            || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Each queued entry is visited at most once per pass.
+            for (int remaining = queued.get(); remaining > 0; remaining--) {
+                if (profiles.size() <= lowWaterMark && queued.get() <= maxSize) {
+                    return;
+                }
+                final QueuedProfile queuedProfile = loadOrder.poll();
+                if (queuedProfile == null) {
+                    return;
+                }
+                queued.decrementAndGet();
+                final CachedProfile profile = queuedProfile.profile;
+                if (profiles.get(queuedProfile.userId) != profile) {
+                    // Invalidated or reloaded already.
+                    continue;
+                }
+                if (profiles.size() > lowWaterMark && profile.future.isDone()
+                    && profiles.remove(queuedProfile.userId, profile)) {
+                    continue;
+                }
+                // Lookups in flight are shared by callers; keep them.
+                enqueue(queuedProfile);
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private void enqueue(final QueuedProfile queuedProfile) {
+        loadOrder.add(queuedProfile);
+        queued.incrementAndGet();
+    }
+
+    @Override
+    public CompletableFuture<BotApiResponse> replyMessage(final ReplyMessage replyMessage) {
+        return delegate.replyMessage(replyMessage);
+    }
+
+    @Override
+    public CompletableFuture<BotApiResponse> pushMessage(final PushMessage pushMessage) {
+        return delegate.pushMessage(pushMessage);
+    }
+
+    @Override
+    public CompletableFuture<BotApiResponse> replyMessage(final String replyToken,
+                                                          final PreparedMessages messages) {
+        return delegate.replyMessage(replyToken, messages);
+    }
+
+    @Override
+    public CompletableFuture<BotApiResponse> pushMessage(final String to, final PreparedMessages messages) {
+        return delegate.pushMessage(to, messages);
+    }
+
+    @Override
+    public CompletableFuture<BotApiResponse> multicast(final Multicast multicast) {
+        return delegate.multicast(multicast);
+    }
+
+    @Override
+    public CompletableFuture<MessageContentResponse> getMessageContent(final String messageId) {
+        return delegate.getMessageContent(messageId);
+    }
+
+    @Override
+    public CompletableFuture<BotApiResponse> leaveGroup(final String groupId) {
+        return delegate.leaveGroup(groupId);
+    }
+
+    @Override
+    public CompletableFuture<BotApiResponse> leaveRoom(final String roomId) {
+        return delegate.leaveRoom(roomId);
+    }
+
+    private static final class QueuedProfile {
+        final String userId;
+        final CachedProfile profile;
+
+        QueuedProfile(final String userId, final CachedProfile profile) {
+            this.userId = userId;
+            this.profile = profile;
+        }
+    }
+
+    private static final class CachedProfile {
+        final CompletableFuture<UserProfileResponse> future = new CompletableFuture<>();
+        volatile long expiresAt;
+
+        boolean isExpired(final long now) {
+            return future.isDone() && now - expiresAt >= 0;
+        }
+
+        boolean isUsable(final long now) {
+            // In-flight lookups are shared, failed ones are removed on completion.
+            return !future.isCompletedExceptionally() && !isExpired(now);
+        }
+    }
+}
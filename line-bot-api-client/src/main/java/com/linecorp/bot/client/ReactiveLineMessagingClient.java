@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.nio.ByteBuffer;
+
+import org.reactivestreams.Publisher;
+
+import com.linecorp.bot.model.Multicast;
+import com.linecorp.bot.model.PushMessage;
+import com.linecorp.bot.model.ReplyMessage;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+import com.linecorp.bot.model.response.BotApiResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <a href="https://projectreactor.io/">Reactor</a> based variant of {@link LineMessagingClient}.
+ *
+ * <p>Requests are sent on subscription, once per subscription. Cancelling a subscription cancels
+ * the HTTP call in flight. Errors are signalled as {@code LineMessagingException}s like
+ * {@link LineMessagingClient}.</p>
+ *
+ * <p>Requires {@code io.projectreactor:reactor-core} on the classpath.</p>
+ */
+public interface ReactiveLineMessagingClient {
+    /**
+     * Reply to messages from users.
+     *
+     * @see LineMessagingClient#replyMessage(ReplyMessage)
+     */
+    Mono<BotApiResponse> replyMessage(ReplyMessage replyMessage);
+
+    /**
+     * Send messages to users when you want to.
+     *
+     * @see LineMessagingClient#pushMessage(PushMessage)
+     */
+    Mono<BotApiResponse> pushMessage(PushMessage pushMessage);
+
+    /**
+     * Send messages to multiple users at any time.
+     *
+     * @see LineMessagingClient#multicast(Multicast)
+     */
+    Mono<BotApiResponse> multicast(Multicast multicast);
+
+    /**
+     * Send each push message with at most {@code maxConcurrency} requests in flight.
+     * Messages are requested from upstream as requests complete.
+     *
+     * <p>Responses are emitted in completion order. The first failed request terminates the returned
+     * {@link Flux}; use {@link #pushMessage(PushMessage)} with your own error handling to continue
+     * on failures.</p>
+     */
+    Flux<BotApiResponse> pushMessages(Publisher<PushMessage> pushMessages, int maxConcurrency);
+
+    /**
+     * Send each multicast with at most {@code maxConcurrency} requests in flight.
+     *
+     * @see #pushMessages(Publisher, int)
+     */
+    Flux<BotApiResponse> multicasts(Publisher<Multicast> multicasts, int maxConcurrency);
+
+    /**
+     * Download image, video, and audio data sent from users, as chunks.
+     *
+     * <p>Chunks are read on demand from the connection, which is closed on completion,
+     * error or cancellation.</p>
+     *
+     * @see LineMessagingClient#getMessageContent(String)
+     */
+    Flux<ByteBuffer> getMessageContent(String messageId);
+
+    /**
+     * Get user profile information.
+     *
+     * @see LineMessagingClient#getProfile(String)
+     */
+    Mono<UserProfileResponse> getProfile(String userId);
+
+    /**
+     * Leave a group.
+     *
+     * @see LineMessagingClient#leaveGroup(String)
+     */
+    Mono<BotApiResponse> leaveGroup(String groupId);
+
+    /**
+     * Leave a room.
+     *
+     * @see LineMessagingClient#leaveRoom(String)
+     */
+    Mono<BotApiResponse> leaveRoom(String roomId);
+}
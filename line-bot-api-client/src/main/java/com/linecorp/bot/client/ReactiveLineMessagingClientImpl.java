@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+
+import com.linecorp.bot.client.exception.GeneralLineMessagingException;
+import com.linecorp.bot.client.exception.LineMessagingException;
+import com.linecorp.bot.model.Multicast;
+import com.linecorp.bot.model.PushMessage;
+import com.linecorp.bot.model.ReplyMessage;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+import com.linecorp.bot.model.response.BotApiResponse;
+
+import lombok.AllArgsConstructor;
+import okhttp3.ResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Implementation of {@link ReactiveLineMessagingClient} on top of {@link LineMessagingService}.
+ */
+@AllArgsConstructor
+public class ReactiveLineMessagingClientImpl implements ReactiveLineMessagingClient {
+    private static final ExceptionConverter EXCEPTION_CONVERTER = new ExceptionConverter();
+    static final int CONTENT_CHUNK_SIZE = 8192;
+
+    private final LineMessagingService retrofitImpl;
+
+    @Override
+    public Mono<BotApiResponse> replyMessage(final ReplyMessage replyMessage) {
+        return toMono(() -> retrofitImpl.replyMessage(replyMessage));
+    }
+
+    @Override
+    public Mono<BotApiResponse> pushMessage(final PushMessage pushMessage) {
+        return toMono(() -> retrofitImpl.pushMessage(pushMessage));
+    }
+
+    @Override
+    public Mono<BotApiResponse> multicast(final Multicast multicast) {
+        return toMono(() -> retrofitImpl.multicast(multicast));
+    }
+
+    @Override
+    public Flux<BotApiResponse> pushMessages(final Publisher<PushMessage> pushMessages,
+                                             final int maxConcurrency) {
+        return Flux.from(pushMessages).flatMap(this::pushMessage, maxConcurrency);
+    }
+
+    @Override
+    public Flux<BotApiResponse> multicasts(final Publisher<Multicast> multicasts, final int maxConcurrency) {
+        return Flux.from(multicasts).flatMap(this::multicast, maxConcurrency);
+    }
+
+    @Override
+    public Flux<ByteBuffer> getMessageContent(final String messageId) {
+        // The call and the reads block; keep them off the threads requesting chunks.
+        return Flux.defer(() -> {
+            final Call<ResponseBody> call = retrofitImpl.getMessageContent(messageId);
+            // The body is opened and closed by the same operator, so no cancellation in between leaks it.
+            return Flux.using(() -> execute(call),
+                              body -> readChunks(body.byteStream()),
+                              ResponseBody::close)
+                       .doOnCancel(call::cancel);
+        }).subscribeOn(Schedulers.elastic());
+    }
+
+    @Override
+    public Mono<UserProfileResponse> getProfile(final String userId) {
+        return toMono(() -> retrofitImpl.getProfile(userId));
+    }
+
+    @Override
+    public Mono<BotApiResponse> leaveGroup(final String groupId) {
+        return toMono(() -> retrofitImpl.leaveGroup(groupId));
+    }
+
+    @Override
+    public Mono<BotApiResponse> leaveRoom(final String roomId) {
+        return toMono(() -> retrofitImpl.leaveRoom(roomId));
+    }
+
+    private static <T> Mono<T> toMono(final Supplier<Call<T>> callSupplier) {
+        return Mono.create(sink -> {
+            final Call<T> call = callSupplier.get();
+            sink.onCancel(call::cancel);
+            call.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(final Call<T> call, final Response<T> response) {
+                    if (response.isSuccessful()) {
+                        sink.success(response.body());
+                    } else {
+                        sink.error(EXCEPTION_CONVERTER.apply(response));
+                    }
+                }
+
+                @Override
+                public void onFailure(final Call<T> call, final Throwable t) {
+                    sink.error(new GeneralLineMessagingException(t.getMessage(), null, t));
+                }
+            });
+        });
+    }
+
+    private static <T> T execute(final Call<T> call) throws LineMessagingException {
+        final Response<T> response;
+        try {
+            response = call.execute();
+        } catch (IOException e) {
+            throw new GeneralLineMessagingException(e.getMessage(), null, e);
+        }
+        if (!response.isSuccessful()) {
+            throw EXCEPTION_CONVERTER.apply(response);
+        }
+        return response.body();
+    }
+
+    private static Flux<ByteBuffer> readChunks(final InputStream inputStream) {
+        return Flux.generate(sink -> {
+            final byte[] chunk = new byte[CONTENT_CHUNK_SIZE];
+            try {
+                final int read = inputStream.read(chunk);
+                if (read < 0) {
+                    sink.complete();
+                } else {
+                    sink.next(ByteBuffer.wrap(chunk, 0, read));
+                }
+            } catch (IOException e) {
+                sink.error(new GeneralLineMessagingException(e.getMessage(), null, e));
+            }
+        });
+    }
+}
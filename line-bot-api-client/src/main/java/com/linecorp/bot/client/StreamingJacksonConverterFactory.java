@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import lombok.NonNull;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Retrofit converter factory streaming JSON between Jackson and OkHttp without intermediate buffers.
+ *
+ * <p>Response bodies are parsed from their byte stream, skipping the decoding to characters.</p>
+ *
+ * <p>By default, request bodies are serialized into an okio {@link Buffer}, so their {@code Content-Length}
+ * is known; its segments are shared with the connection's buffer when sent rather than copied to a
+ * {@code byte[]}. Streaming request bodies is opt-in via {@link #withStreamingRequestBodies()}: they're then
+ * written straight to the connection's {@link BufferedSink} when sent, which saves the buffer, but their
+ * length isn't known in advance, so they're sent with chunked transfer encoding.</p>
+ */
+public final class StreamingJacksonConverterFactory extends Converter.Factory {
+    private static final MediaType JSON = MediaType.parse("application/json; charset=UTF-8");
+
+    private final LineBotJsonCodec codec;
+    private final boolean streamRequestBodies;
+
+    private StreamingJacksonConverterFactory(final LineBotJsonCodec codec, final boolean streamRequestBodies) {
+        this.codec = codec;
+        this.streamRequestBodies = streamRequestBodies;
+    }
+
+    /**
+     * Creates a factory using the given {@link ObjectMapper}. It must not be reconfigured afterwards.
+     */
+    public static StreamingJacksonConverterFactory create(@NonNull final ObjectMapper objectMapper) {
+        return create(LineBotJsonCodec.create(objectMapper));
+    }
+
+    /**
+     * Creates a factory using the readers and writers of the given codec, e.g.
+     * {@link LineBotJsonCodec#getReplyMessageWriter()} for {@code ReplyMessage} bodies.
+     */
+    public static StreamingJacksonConverterFactory create(@NonNull final LineBotJsonCodec codec) {
+        return new StreamingJacksonConverterFactory(codec, false);
+    }
+
+    /**
+     * Returns a factory that also streams request bodies, sending them with chunked transfer encoding.
+     */
+    public StreamingJacksonConverterFactory withStreamingRequestBodies() {
+        return new StreamingJacksonConverterFactory(codec, true);
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(final Type type,
+                                                          final Annotation[] parameterAnnotations,
+                                                          final Annotation[] methodAnnotations,
+                                                          final Retrofit retrofit) {
+        final ObjectWriter writer = codec.writerFor(type);
+        if (!streamRequestBodies) {
+            return value -> {
+                final Buffer buffer = new Buffer();
+                writer.writeValue(buffer.outputStream(), value);
+                return new BufferedRequestBody(buffer);
+            };
+        }
+        // The sink belongs to OkHttp; Jackson must not close it.
+        final ObjectWriter streamingWriter = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return value -> new StreamingRequestBody(streamingWriter, value);
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(final Type type, final Annotation[] annotations,
+                                                            final Retrofit retrofit) {
+        final ObjectReader reader = codec.readerFor(type);
+        return body -> {
+            try (ResponseBody closing = body) {
+                return reader.readValue(closing.byteStream());
+            }
+        };
+    }
+
+    private static final class BufferedRequestBody extends RequestBody {
+        private final Buffer buffer;
+
+        BufferedRequestBody(final Buffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return JSON;
+        }
+
+        @Override
+        public long contentLength() {
+            return buffer.size();
+        }
+
+        /**
+         * May be called more than once, e.g. by logging or on retry; the buffer itself is never consumed.
+         */
+        @Override
+        public void writeTo(final BufferedSink sink) throws IOException {
+            buffer.copyTo(sink.buffer(), 0, buffer.size());
+            sink.emitCompleteSegments();
+        }
+    }
+
+    private static final class StreamingRequestBody extends RequestBody {
+        private final ObjectWriter writer;
+        private final Object value;
+
+        StreamingRequestBody(final ObjectWriter writer, final Object value) {
+            this.writer = writer;
+            this.value = value;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return JSON;
+        }
+
+        /**
+         * May be called more than once, e.g. by logging or on retry; each call writes the same JSON.
+         */
+        @Override
+        public void writeTo(final BufferedSink sink) throws IOException {
+            writer.writeValue(sink.outputStream(), value);
+        }
+    }
+}
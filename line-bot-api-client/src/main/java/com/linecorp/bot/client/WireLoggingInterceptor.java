@@ -0,0 +1,329 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import lombok.NonNull;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Sink;
+import okio.Timeout;
+
+/**
+ * Wire logger for {@link LineMessagingService} requests.
+ *
+ * <p>Unlike {@code HttpLoggingInterceptor}, detail is configurable per endpoint, header and body
+ * output is size-capped, and requests above {@link Level#BASIC} can be sampled. Only JSON and text
+ * bodies are ever logged, and the body of {@code /v2/bot/message/{messageId}/content} is never read,
+ * so streamed content is not buffered for logging.</p>
+ *
+ * <p>Logs to {@code com.linecorp.bot.client.wire} at INFO level.</p>
+ */
+public final class WireLoggingInterceptor implements Interceptor {
+    private static final Logger log = LoggerFactory.getLogger("com.linecorp.bot.client.wire");
+
+    public static final Level DEFAULT_LEVEL = Level.BASIC;
+    public static final int DEFAULT_MAX_HEADER_BYTES = 1024;
+    public static final int DEFAULT_MAX_BODY_BYTES = 4096;
+
+    public enum Level {
+        /** No logs. */
+        NONE,
+        /** Request and response lines with body sizes and latency. */
+        BASIC,
+        /** {@link #BASIC} plus headers. {@code Authorization} is masked. */
+        HEADERS,
+        /** {@link #HEADERS} plus JSON/text bodies. */
+        BODY,
+    }
+
+    private final Level level;
+    private final Map<String, Level> endpointLevels;
+    private final double sampleRate;
+    private final int maxHeaderBytes;
+    private final int maxBodyBytes;
+
+    private WireLoggingInterceptor(final Builder builder) {
+        level = builder.level;
+        endpointLevels = new HashMap<>(builder.endpointLevels);
+        sampleRate = builder.sampleRate;
+        maxHeaderBytes = builder.maxHeaderBytes;
+        maxBodyBytes = builder.maxBodyBytes;
+    }
+
+    /**
+     * Creates an interceptor with default settings: {@link Level#BASIC} for every endpoint.
+     * Headers and bodies are logged only for endpoints or levels set explicitly via {@link #builder()}.
+     */
+    public static WireLoggingInterceptor create() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final String endpoint = Endpoints.uriTemplate(request.url().encodedPath());
+        final Level level = levelFor(endpoint);
+        if (level == Level.NONE || !log.isInfoEnabled()) {
+            return chain.proceed(request);
+        }
+
+        final StringBuilder sb = new StringBuilder(128);
+        sb.append("--> ").append(request.method()).append(' ').append(request.url());
+        final RequestBody requestBody = request.body();
+        if (requestBody != null && requestBody.contentLength() >= 0) {
+            sb.append(" (").append(requestBody.contentLength()).append("-byte body)");
+        }
+        if (level.compareTo(Level.HEADERS) >= 0) {
+            appendHeaders(sb, request.headers());
+        }
+        if (level == Level.BODY && requestBody != null && isLoggable(requestBody.contentType())) {
+            final CappedSink sink = new CappedSink(maxBodyBytes);
+            final BufferedSink bufferedSink = Okio.buffer(sink);
+            requestBody.writeTo(bufferedSink);
+            bufferedSink.flush();
+            final byte[] logged = sink.buffer.readByteArray();
+            appendBody(sb, decode(logged, charsetOf(requestBody.contentType())), logged.length, sink.written);
+        }
+        log.info("{}", sb);
+
+        final long start = System.nanoTime();
+        final Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            log.info("<-- HTTP FAILED: {} {} ({}ms) {}", request.method(), request.url(),
+                     TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), e.toString());
+            throw e;
+        }
+        final long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        sb.setLength(0);
+        final ResponseBody responseBody = response.body();
+        sb.append("<-- ").append(response.code()).append(' ').append(request.method())
+          .append(' ').append(request.url())
+          .append(" (").append(tookMs).append("ms");
+        if (responseBody.contentLength() >= 0) {
+            sb.append(", ").append(responseBody.contentLength()).append("-byte body");
+        }
+        sb.append(')');
+        if (level.compareTo(Level.HEADERS) >= 0) {
+            appendHeaders(sb, response.headers());
+        }
+        if (level == Level.BODY && !Endpoints.MESSAGE_CONTENT.equals(endpoint)
+            && isLoggable(responseBody.contentType())) {
+            // peekBody reads at most maxBodyBytes and leaves the original body intact.
+            final ResponseBody peeked = response.peekBody(maxBodyBytes);
+            final byte[] logged = peeked.bytes();
+            appendBody(sb, decode(logged, charsetOf(peeked.contentType())), logged.length,
+                       responseBody.contentLength());
+        }
+        log.info("{}", sb);
+
+        return response;
+    }
+
+    private Level levelFor(final String endpoint) {
+        final Level configured = endpointLevels.getOrDefault(endpoint, level);
+        if (configured.compareTo(Level.BASIC) > 0 && sampleRate < 1.0
+            && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return Level.BASIC;
+        }
+        return configured;
+    }
+
+    private void appendHeaders(final StringBuilder sb, final Headers headers) {
+        final int limit = sb.length() + maxHeaderBytes;
+        for (int i = 0; i < headers.size(); i++) {
+            final String name = headers.name(i);
+            sb.append("\n").append(name).append(": ")
+              .append("Authorization".equalsIgnoreCase(name) ? "****" : headers.value(i));
+            if (sb.length() > limit) {
+                sb.setLength(limit);
+                sb.append("... (truncated)");
+                return;
+            }
+        }
+    }
+
+    private void appendBody(final StringBuilder sb, final String body, final int loggedBytes,
+                            final long contentLength) {
+        sb.append("\n").append(body);
+        if (contentLength > maxBodyBytes) {
+            sb.append("... (").append(contentLength).append(" bytes, logged up to ").append(maxBodyBytes)
+              .append(" bytes)");
+        } else if (contentLength < 0 && loggedBytes >= maxBodyBytes) {
+            // Chunked; the body may or may not end here.
+            sb.append("... (unknown length, logged up to ").append(maxBodyBytes).append(" bytes)");
+        }
+    }
+
+    private static boolean isLoggable(final MediaType contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        return "text".equals(contentType.type())
+               || "application".equals(contentType.type()) && contentType.subtype().contains("json");
+    }
+
+    private static Charset charsetOf(final MediaType contentType) {
+        return contentType.charset(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes a body cut at {@code maxBodyBytes}, dropping a trailing UTF-8 character cut in half.
+     */
+    static String decode(final byte[] bytes, final Charset charset) {
+        int length = bytes.length;
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            int start = length - 1;
+            while (start >= 0 && (bytes[start] & 0xC0) == 0x80) {
+                start--;
+            }
+            if (start >= 0) {
+                final int lead = bytes[start] & 0xFF;
+                final int charLength = lead < 0x80 ? 1 : lead < 0xE0 ? 2 : lead < 0xF0 ? 3 : 4;
+                if (length - start < charLength) {
+                    length = start;
+                }
+            }
+        }
+        return new String(bytes, 0, length, charset);
+    }
+
+    /**
+     * Keeps the first {@code limit} bytes written and counts the rest.
+     */
+    private static final class CappedSink implements Sink {
+        private final Buffer buffer = new Buffer();
+        private final long limit;
+        private long written;
+
+        CappedSink(final long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(final Buffer source, final long byteCount) throws IOException {
+            final long kept = Math.max(0, Math.min(byteCount, limit - buffer.size()));
+            source.read(buffer, kept);
+            source.skip(byteCount - kept);
+            written += byteCount;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    public static final class Builder {
+        private Level level = DEFAULT_LEVEL;
+        private final Map<String, Level> endpointLevels = new HashMap<>();
+        private double sampleRate = 1.0;
+        private int maxHeaderBytes = DEFAULT_MAX_HEADER_BYTES;
+        private int maxBodyBytes = DEFAULT_MAX_BODY_BYTES;
+
+        private Builder() {
+        }
+
+        /**
+         * Set level for every endpoint without its own level. Default: {@link Level#BASIC}.
+         */
+        public Builder level(@NonNull final Level level) {
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * Set level for an endpoint, e.g. {@code /v2/bot/message/push} or
+         * {@code /v2/bot/profile/{userId}}.
+         */
+        public Builder endpointLevel(@NonNull final String endpoint, @NonNull final Level level) {
+            endpointLevels.put(endpoint, level);
+            return this;
+        }
+
+        /**
+         * Set ratio of requests (0.0 - 1.0) logged above {@link Level#BASIC}.
+         * Others are logged at {@link Level#BASIC}. Default: {@code 1.0}.
+         */
+        public Builder sampleRate(final double sampleRate) {
+            if (sampleRate < 0 || sampleRate > 1) {
+                throw new IllegalArgumentException("sampleRate must be between 0 and 1: " + sampleRate);
+            }
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Set maximum characters of headers logged per request or response.
+         */
+        public Builder maxHeaderBytes(final int maxHeaderBytes) {
+            if (maxHeaderBytes < 0) {
+                throw new IllegalArgumentException("maxHeaderBytes must not be negative: " + maxHeaderBytes);
+            }
+            this.maxHeaderBytes = maxHeaderBytes;
+            return this;
+        }
+
+        /**
+         * Set maximum bytes of body logged per request or response.
+         */
+        public Builder maxBodyBytes(final int maxBodyBytes) {
+            if (maxBodyBytes < 0) {
+                throw new IllegalArgumentException("maxBodyBytes must not be negative: " + maxBodyBytes);
+            }
+            this.maxBodyBytes = maxBodyBytes;
+            return this;
+        }
+
+        public WireLoggingInterceptor build() {
+            return new WireLoggingInterceptor(this);
+        }
+    }
+}
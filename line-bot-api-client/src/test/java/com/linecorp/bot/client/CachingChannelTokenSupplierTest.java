@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class CachingChannelTokenSupplierTest {
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ChannelTokenSupplier delegate;
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private long now;
+
+    private CachingChannelTokenSupplier target;
+
+    @Before
+    public void setUp() {
+        target = new CachingChannelTokenSupplier(delegate, 1000, 100, scheduled::add, () -> now);
+    }
+
+    @Test
+    public void cachesTokenWithinTtl() {
+        when(delegate.get()).thenReturn("1st");
+
+        assertThat(target.get()).isEqualTo("1st");
+        advanceMillis(899);
+        assertThat(target.get()).isEqualTo("1st");
+
+        verify(delegate, times(1)).get();
+        assertThat(scheduled).isEmpty();
+    }
+
+    @Test
+    public void refreshesInBackgroundOnceBeforeExpiry() {
+        when(delegate.get()).thenReturn("1st", "2nd");
+        target.get();
+
+        // Do
+        advanceMillis(900);
+        assertThat(target.get()).isEqualTo("1st");
+        assertThat(target.get()).isEqualTo("1st");
+
+        // Verify: single refresh scheduled, cached token served meanwhile.
+        assertThat(scheduled).hasSize(1);
+        scheduled.remove(0).run();
+        assertThat(target.get()).isEqualTo("2nd");
+        verify(delegate, times(2)).get();
+    }
+
+    @Test
+    public void keepsTokenIfRefreshFails() {
+        when(delegate.get()).thenReturn("1st")
+                            .thenThrow(new IllegalStateException("issuer down"))
+                            .thenReturn("3rd");
+        target.get();
+
+        // Do
+        advanceMillis(950);
+        target.get();
+        scheduled.remove(0).run();
+
+        // Verify
+        assertThat(target.get()).isEqualTo("1st");
+
+        // Expired: loaded synchronously.
+        advanceMillis(50);
+        assertThat(target.get()).isEqualTo("3rd");
+    }
+
+    @Test
+    public void retriesFailedRefreshAfterInterval() {
+        target = new CachingChannelTokenSupplier(delegate, 60_000, 30_000, scheduled::add, () -> now);
+        when(delegate.get()).thenReturn("1st")
+                            .thenThrow(new IllegalStateException("issuer down"))
+                            .thenReturn("3rd");
+        target.get();
+        advanceMillis(30_000);
+        target.get();
+        scheduled.remove(0).run();
+
+        // Do
+        advanceMillis(CachingChannelTokenSupplier.REFRESH_RETRY_MILLIS - 1);
+        assertThat(target.get()).isEqualTo("1st");
+
+        // Verify: no refresh until the retry interval has passed.
+        assertThat(scheduled).isEmpty();
+        advanceMillis(1);
+        assertThat(target.get()).isEqualTo("1st");
+        assertThat(scheduled).hasSize(1);
+        scheduled.remove(0).run();
+        assertThat(target.get()).isEqualTo("3rd");
+        verify(delegate, times(3)).get();
+    }
+
+    private void advanceMillis(final long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
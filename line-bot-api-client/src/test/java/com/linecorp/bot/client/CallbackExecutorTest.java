@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.linecorp.bot.model.profile.UserProfileResponse;
+
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class CallbackExecutorTest {
+    private MockWebServer mockWebServer;
+    private Dispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                return new MockResponse().setBody("{\"displayName\":\"name\",\"userId\":\"USER_ID\"}");
+            }
+        });
+        dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        dispatcher.cancelAll();
+        mockWebServer.shutdown();
+    }
+
+    @Test(timeout = 10_000)
+    public void blockingContinuationStarvesDispatcherOnOkHttpThread() throws Exception {
+        final LineMessagingClient target = createClient(LineMessagingServiceBuilder.create("token")
+                                                                                   .callbackExecutor(Runnable::run));
+
+        // Do
+        final CompletableFuture<String> result = chainBlockingCall(target);
+
+        // Verify
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("starved");
+    }
+
+    @Test(timeout = 10_000)
+    public void blockingContinuationDoesNotStarveDispatcherByDefault() throws Exception {
+        final LineMessagingClient target = createClient(LineMessagingServiceBuilder.create("token"));
+
+        // Do
+        final CompletableFuture<String> result = chainBlockingCall(target);
+
+        // Verify
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("name");
+    }
+
+    @Test(timeout = 10_000)
+    public void completesOnSuppliedExecutor() throws Exception {
+        final LineMessagingClient target =
+                createClient(LineMessagingServiceBuilder.create("token")
+                                                        .callbackExecutor(runnable -> new Thread(
+                                                                runnable, "custom-callback").start()));
+
+        // Do
+        final String threadName = target.getProfile("USER_ID")
+                                        .thenApply(profile -> Thread.currentThread().getName())
+                                        .get();
+
+        // Verify
+        assertThat(threadName).isEqualTo("custom-callback");
+    }
+
+    @Test(timeout = 10_000)
+    public void defaultExecutorRunsOnCallerWhenSaturated() throws Exception {
+        final ThreadPoolExecutor executor = LineMessagingServiceBuilder.DefaultCallbackExecutor.create(1, 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            executor.execute(() -> {
+            });
+
+            // Do
+            final AtomicReference<Thread> ranOn = new AtomicReference<>();
+            executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+            // Verify
+            assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+            assertThat(executor.getPoolSize()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Makes a blocking call from a continuation of another call,
+     * like replying from {@code whenComplete} of {@code getProfile}.
+     */
+    private static CompletableFuture<String> chainBlockingCall(final LineMessagingClient target) {
+        return target.getProfile("USER_ID")
+                     .thenApply(ignored -> {
+                         try {
+                             final UserProfileResponse profile =
+                                     target.getProfile("USER_ID").get(1, TimeUnit.SECONDS);
+                             return profile.getDisplayName();
+                         } catch (TimeoutException e) {
+                             return "starved";
+                         } catch (Exception e) {
+                             throw new RuntimeException(e);
+                         }
+                     });
+    }
+
+    private LineMessagingClient createClient(final LineMessagingServiceBuilder builder) {
+        return new LineMessagingClientImpl(
+                builder.apiEndPoint("http://localhost:" + mockWebServer.getPort())
+                       .okHttpClientBuilder(new OkHttpClient.Builder().dispatcher(dispatcher), false)
+                       .build());
+    }
+}
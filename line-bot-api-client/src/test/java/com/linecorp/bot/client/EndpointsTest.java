@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class EndpointsTest {
+    @Test
+    public void uriTemplate() {
+        assertThat(Endpoints.uriTemplate("/v2/bot/message/reply"))
+                .isEqualTo("/v2/bot/message/reply");
+        assertThat(Endpoints.uriTemplate("/v2/bot/message/1234/content"))
+                .isEqualTo("/v2/bot/message/{messageId}/content");
+        assertThat(Endpoints.uriTemplate("/v2/bot/profile/U1234"))
+                .isEqualTo("/v2/bot/profile/{userId}");
+        assertThat(Endpoints.uriTemplate("/v2/bot/group/C1234/leave"))
+                .isEqualTo("/v2/bot/group/{groupId}/leave");
+        assertThat(Endpoints.uriTemplate("/v2/bot/room/R1234/leave"))
+                .isEqualTo("/v2/bot/room/{roomId}/leave");
+    }
+
+    @Test
+    public void uriTemplateUnderBasePath() {
+        assertThat(Endpoints.uriTemplate("/line/v2/bot/message/reply"))
+                .isEqualTo("/v2/bot/message/reply");
+        assertThat(Endpoints.uriTemplate("/line/v2/bot/message/1234/content"))
+                .isEqualTo("/v2/bot/message/{messageId}/content");
+        assertThat(Endpoints.uriTemplate("/line/v2/bot/profile/U1234"))
+                .isEqualTo("/v2/bot/profile/{userId}");
+        assertThat(Endpoints.uriTemplate("/line/v2/bot/group/C1234/leave"))
+                .isEqualTo("/v2/bot/group/{groupId}/leave");
+        assertThat(Endpoints.uriTemplate("/line/v2/bot/room/R1234/leave"))
+                .isEqualTo("/v2/bot/room/{roomId}/leave");
+        assertThat(Endpoints.uriTemplate("/v2/bot/profile/U1234/extra"))
+                .isEqualTo("/v2/bot/profile/U1234/extra");
+    }
+}
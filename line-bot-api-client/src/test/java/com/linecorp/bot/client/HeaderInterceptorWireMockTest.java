@@ -57,11 +57,26 @@ public class HeaderInterceptorWireMockTest extends AbstractWiremockTest {
                 .containsEntry("Authorization", singletonList("Bearer 2nd"));
     }
 
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void additionalHeaders() throws Exception {
+        // Do
+        when(channelTokenSupplier.get()).thenReturn("token");
+        lineMessagingClient.getMessageContent("TEST");
+
+        // Verify
+        final RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getHeaders().toMultimap())
+                .containsEntry("Authorization", singletonList("Bearer token"))
+                .containsEntry("X-Custom-Header", singletonList("custom"));
+        assertThat(request.getHeader("User-Agent")).startsWith("line-botsdk-java/");
+    }
+
     @Override
     protected LineMessagingClientImpl createLineMessagingClient(final MockWebServer mockWebServer) {
         LineMessagingService lineMessagingService =
                 LineMessagingServiceBuilder.create(channelTokenSupplier)
                                            .apiEndPoint("http://localhost:" + mockWebServer.getPort())
+                                           .additionalHeader("X-Custom-Header", "custom")
                                            .build();
         return new LineMessagingClientImpl(lineMessagingService);
     }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.bot.model.Multicast;
+import com.linecorp.bot.model.PushMessage;
+import com.linecorp.bot.model.ReplyMessage;
+import com.linecorp.bot.model.event.CallbackRequest;
+
+public class LineBotJsonCodecTest {
+    @Test
+    public void objectMapperCanNotReconfigureCodec() {
+        final LineBotJsonCodec target = LineBotJsonCodec.create(LineBotJsonCodec.createObjectMapper());
+
+        // Do
+        final ObjectMapper objectMapper = target.getObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+
+        // Verify
+        assertThat(target.getObjectMapper().isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES))
+                .isFalse();
+        assertThat(target.getCallbackRequestReader().isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES))
+                .isFalse();
+    }
+
+    @Test
+    public void streamingReadsCallbackFixturesLikeAnnotationBasedMapper() throws Exception {
+        final LineBotJsonCodec target = LineBotJsonCodec.createStreaming();
+        final ObjectMapper annotationBased = LineBotJsonCodec.createObjectMapper();
+        // Webhook fixtures of line-bot-model, relative to the module directory tests run in.
+        final File[] fixtures = new File("../line-bot-model/src/test/resources/callback")
+                .listFiles((dir, name) -> name.endsWith(".json"));
+        assertThat(fixtures).isNotEmpty();
+
+        for (File fixture : fixtures) {
+            final byte[] payload = Files.readAllBytes(fixture.toPath());
+
+            assertThat(target.readCallbackRequest(payload))
+                    .as(fixture.getName())
+                    .isEqualTo(annotationBased.readValue(payload, CallbackRequest.class));
+        }
+    }
+
+    @Test
+    public void writersOfHotTypesAreShared() {
+        final LineBotJsonCodec target = LineBotJsonCodec.create(LineBotJsonCodec.createObjectMapper());
+
+        assertThat(target.writerFor(ReplyMessage.class)).isSameAs(target.getReplyMessageWriter());
+        assertThat(target.writerFor(PushMessage.class)).isSameAs(target.getPushMessageWriter());
+        assertThat(target.writerFor(Multicast.class)).isSameAs(target.getMulticastWriter());
+    }
+}
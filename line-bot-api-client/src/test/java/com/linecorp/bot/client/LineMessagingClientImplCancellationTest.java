@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.linecorp.bot.client.exception.GeneralLineMessagingException;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+public class LineMessagingClientImplCancellationTest {
+    private MockWebServer mockWebServer;
+    private Dispatcher dispatcher;
+    private LineMessagingClient target;
+
+    @Before
+    public void setUp() {
+        mockWebServer = new MockWebServer();
+        dispatcher = new Dispatcher();
+        final LineMessagingService lineMessagingService =
+                LineMessagingServiceBuilder.create("token")
+                                           .apiEndPoint("http://localhost:" + mockWebServer.getPort())
+                                           .okHttpClientBuilder(new OkHttpClient.Builder().dispatcher(dispatcher),
+                                                                false)
+                                           .build();
+        target = new LineMessagingClientImpl(lineMessagingService);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mockWebServer.shutdown();
+    }
+
+    @Test(timeout = 5_000)
+    public void cancelFreesDispatcherSlot() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        // Do
+        final CompletableFuture<UserProfileResponse> future = target.getProfile("USER_ID");
+        mockWebServer.takeRequest();
+        assertThat(dispatcher.runningCallsCount()).isEqualTo(1);
+        future.cancel(true);
+
+        // Verify
+        awaitNoRunningCalls();
+        assertThat(future).isCancelled();
+    }
+
+    @Test(timeout = 5_000)
+    public void cancelMessageContentFreesDispatcherSlot() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        // Do
+        final CompletableFuture<MessageContentResponse> future = target.getMessageContent("ID");
+        mockWebServer.takeRequest();
+        future.cancel(true);
+
+        // Verify
+        awaitNoRunningCalls();
+    }
+
+    @Test(timeout = 5_000)
+    public void deadlineCancelsCall() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        // Do
+        final CompletableFuture<UserProfileResponse> future =
+                target.getProfile("USER_ID", Duration.ofMillis(100));
+
+        // Verify
+        try {
+            future.get();
+            throw new AssertionError("Expected deadline to be exceeded");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(GeneralLineMessagingException.class);
+            assertThat(e.getCause().getCause()).isInstanceOf(TimeoutException.class);
+        }
+        awaitNoRunningCalls();
+    }
+
+    @Test(timeout = 5_000)
+    public void deadlineNotExceeded() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"displayName\":\"name\",\"userId\":\"USER_ID\"}"));
+
+        // Do
+        final UserProfileResponse profile = target.getProfile("USER_ID", Duration.ofSeconds(3)).get();
+
+        // Verify
+        assertThat(profile.getDisplayName()).isEqualTo("name");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveDeadlineIsRejected() {
+        target.leaveRoom("ROOM_ID", Duration.ZERO);
+    }
+
+    private void awaitNoRunningCalls() throws InterruptedException {
+        while (dispatcher.runningCallsCount() != 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}
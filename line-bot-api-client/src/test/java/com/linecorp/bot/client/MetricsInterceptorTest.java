@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.linecorp.bot.model.error.ErrorResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class MetricsInterceptorTest extends AbstractWiremockTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void recordsTimerPerEndpointAndStatus() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"displayName\":\"name\"}"));
+        mocking(404, new ErrorResponse("Not found", null));
+
+        // Do
+        lineMessagingClient.getProfile("U1234").get();
+        lineMessagingClient.getProfile("U5678").handle((response, throwable) -> null).get();
+
+        // Verify
+        final Timer ok = meterRegistry.find(MetricsInterceptor.METER_NAME)
+                                      .tags("method", "GET", "uri", "/v2/bot/profile/{userId}",
+                                            "status", "200")
+                                      .timer();
+        final Timer notFound = meterRegistry.find(MetricsInterceptor.METER_NAME)
+                                            .tags("method", "GET", "uri", "/v2/bot/profile/{userId}",
+                                                  "status", "404")
+                                            .timer();
+        assertThat(ok).isNotNull();
+        assertThat(ok.count()).isEqualTo(1);
+        assertThat(notFound).isNotNull();
+        assertThat(notFound.count()).isEqualTo(1);
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void recordsUriTemplateUnderBasePath() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"displayName\":\"name\"}"));
+        final LineMessagingClient client = new LineMessagingClientImpl(
+                LineMessagingServiceBuilder.create("token")
+                                           .apiEndPoint("http://localhost:" + mockWebServer.getPort() + "/line/")
+                                           .addInterceptor(MetricsInterceptor.of(meterRegistry))
+                                           .build());
+
+        // Do
+        client.getProfile("U1234").get();
+
+        // Verify
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/line/v2/bot/profile/U1234");
+        assertThat(meterRegistry.find(MetricsInterceptor.METER_NAME)
+                                .tags("uri", "/v2/bot/profile/{userId}")
+                                .timer()).isNotNull();
+        assertThat(meterRegistry.find(MetricsInterceptor.METER_NAME)
+                                .tags("uri", "/line/v2/bot/profile/U1234")
+                                .timer()).isNull();
+    }
+
+    @Override
+    protected LineMessagingClientImpl createLineMessagingClient(final MockWebServer mockWebServer) {
+        final LineMessagingService lineMessagingService =
+                LineMessagingServiceBuilder.create("token")
+                                           .apiEndPoint("http://localhost:" + mockWebServer.getPort())
+                                           .addInterceptor(MetricsInterceptor.of(meterRegistry))
+                                           .build();
+        return new LineMessagingClientImpl(lineMessagingService);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.bot.model.PushMessage;
+import com.linecorp.bot.model.ReplyMessage;
+import com.linecorp.bot.model.action.MessageAction;
+import com.linecorp.bot.model.message.Message;
+import com.linecorp.bot.model.message.TemplateMessage;
+import com.linecorp.bot.model.message.TextMessage;
+import com.linecorp.bot.model.message.template.ConfirmTemplate;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class PreparedMessagesTest extends AbstractWiremockTest {
+    private static final ObjectMapper OBJECT_MAPPER = LineBotJsonCodec.getDefault().getObjectMapper();
+
+    private final PreparedMessages prepared = PreparedMessages.of(
+            new TextMessage("Hello, \"world\""),
+            new TemplateMessage("Confirm alt text", new ConfirmTemplate(
+                    "Do it?",
+                    new MessageAction("Yes", "Yes!"),
+                    new MessageAction("No", "No!"))));
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void replyMessageSameBodyAsReplyMessage() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("{}"));
+
+        lineMessagingClient.replyMessage("tokenあ\"", prepared).get();
+
+        final RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/v2/bot/message/reply");
+        assertThat(request.getHeader("Content-Type")).startsWith("application/json");
+        assertThat(OBJECT_MAPPER.readTree(request.getBody().readByteArray()))
+                .isEqualTo(OBJECT_MAPPER.valueToTree(new ReplyMessage("tokenあ\"", prepared.getMessages())));
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void pushMessageSameBodyAsPushMessage() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("{}"));
+
+        lineMessagingClient.pushMessage("U1234", prepared).get();
+
+        final RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/v2/bot/message/push");
+        assertThat(OBJECT_MAPPER.readTree(request.getBody().readByteArray()))
+                .isEqualTo(OBJECT_MAPPER.valueToTree(new PushMessage("U1234", prepared.getMessages())));
+    }
+
+    @Test
+    public void messagesAreCopied() {
+        final TextMessage message = new TextMessage("text");
+        final List<Message> messages = new ArrayList<>(Arrays.asList(message));
+
+        final PreparedMessages preparedMessages = PreparedMessages.of(messages);
+        messages.clear();
+
+        assertThat(preparedMessages.getMessages()).containsExactly(message);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import com.linecorp.bot.model.profile.UserProfileResponse;
+
+public class ProfileCachingLineMessagingClientTest {
+    private static final UserProfileResponse PROFILE =
+            new UserProfileResponse("name", "USER_ID", "https://example.com/picture", "status");
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private LineMessagingClient delegate;
+
+    private long now;
+
+    private ProfileCachingLineMessagingClient target;
+
+    @Before
+    public void setUp() {
+        target = new ProfileCachingLineMessagingClient(delegate, 1000, 2, () -> now);
+    }
+
+    @Test
+    public void coalescesConcurrentLookups() throws Exception {
+        final CompletableFuture<UserProfileResponse> inFlight = new CompletableFuture<>();
+        when(delegate.getProfile("USER_ID")).thenReturn(inFlight);
+
+        // Do
+        final CompletableFuture<UserProfileResponse> first = target.getProfile("USER_ID");
+        final CompletableFuture<UserProfileResponse> second = target.getProfile("USER_ID");
+        inFlight.complete(PROFILE);
+
+        // Verify
+        assertThat(first.get()).isSameAs(PROFILE);
+        assertThat(second.get()).isSameAs(PROFILE);
+        verify(delegate, times(1)).getProfile("USER_ID");
+    }
+
+    @Test
+    public void cachesUntilTtl() throws Exception {
+        when(delegate.getProfile("USER_ID")).thenReturn(CompletableFuture.completedFuture(PROFILE));
+
+        target.getProfile("USER_ID").get();
+        advanceMillis(999);
+        target.getProfile("USER_ID").get();
+        verify(delegate, times(1)).getProfile("USER_ID");
+
+        advanceMillis(1);
+        target.getProfile("USER_ID").get();
+        verify(delegate, times(2)).getProfile("USER_ID");
+    }
+
+    @Test
+    public void doesNotCacheFailures() throws Exception {
+        final CompletableFuture<UserProfileResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("failed"));
+        when(delegate.getProfile("USER_ID"))
+                .thenReturn(failed)
+                .thenReturn(CompletableFuture.completedFuture(PROFILE));
+
+        assertThat(target.getProfile("USER_ID")).isCompletedExceptionally();
+        assertThat(target.getProfile("USER_ID").get()).isSameAs(PROFILE);
+    }
+
+    @Test
+    public void callerCancellationDoesNotAffectCache() throws Exception {
+        final CompletableFuture<UserProfileResponse> inFlight = new CompletableFuture<>();
+        when(delegate.getProfile("USER_ID")).thenReturn(inFlight);
+
+        target.getProfile("USER_ID").cancel(true);
+        final CompletableFuture<UserProfileResponse> second = target.getProfile("USER_ID");
+        inFlight.complete(PROFILE);
+
+        assertThat(second.get()).isSameAs(PROFILE);
+        verify(delegate, times(1)).getProfile("USER_ID");
+    }
+
+    @Test
+    public void invalidate() throws Exception {
+        when(delegate.getProfile("USER_ID")).thenReturn(CompletableFuture.completedFuture(PROFILE));
+
+        target.getProfile("USER_ID").get();
+        target.invalidate("USER_ID");
+        target.getProfile("USER_ID").get();
+
+        verify(delegate, times(2)).getProfile("USER_ID");
+    }
+
+    @Test
+    public void evictsAboveMaxSize() throws Exception {
+        when(delegate.getProfile("A")).thenReturn(CompletableFuture.completedFuture(PROFILE));
+        when(delegate.getProfile("B")).thenReturn(CompletableFuture.completedFuture(PROFILE));
+        when(delegate.getProfile("C")).thenReturn(CompletableFuture.completedFuture(PROFILE));
+
+        target.getProfile("A").get();
+        advanceMillis(1000);
+        target.getProfile("B").get();
+        target.getProfile("C").get();
+
+        // Expired "A" is evicted first.
+        assertThat(target.size()).isEqualTo(2);
+        target.getProfile("B").get();
+        target.getProfile("C").get();
+        verify(delegate, times(1)).getProfile("B");
+        verify(delegate, times(1)).getProfile("C");
+    }
+
+    @Test
+    public void doesNotEvictLookupsInFlight() throws Exception {
+        final CompletableFuture<UserProfileResponse> inFlight = new CompletableFuture<>();
+        when(delegate.getProfile("A")).thenReturn(inFlight);
+        when(delegate.getProfile("B")).thenReturn(CompletableFuture.completedFuture(PROFILE));
+        when(delegate.getProfile("C")).thenReturn(CompletableFuture.completedFuture(PROFILE));
+
+        final CompletableFuture<UserProfileResponse> first = target.getProfile("A");
+        target.getProfile("B").get();
+        target.getProfile("C").get();
+
+        // "B" is evicted instead of "A", which another caller may be waiting for.
+        assertThat(target.size()).isEqualTo(2);
+        final CompletableFuture<UserProfileResponse> second = target.getProfile("A");
+        inFlight.complete(PROFILE);
+        assertThat(first.get()).isSameAs(PROFILE);
+        assertThat(second.get()).isSameAs(PROFILE);
+        verify(delegate, times(1)).getProfile("A");
+        target.getProfile("B").get();
+        verify(delegate, times(2)).getProfile("B");
+    }
+
+    @Test
+    public void evictsInLoadOrder() throws Exception {
+        target = new ProfileCachingLineMessagingClient(delegate, 1000, 16, () -> now);
+        when(delegate.getProfile(anyString())).thenReturn(CompletableFuture.completedFuture(PROFILE));
+
+        for (int i = 0; i < 17; i++) {
+            target.getProfile("U" + i).get();
+        }
+
+        // Evicted down to 14, oldest first.
+        assertThat(target.size()).isEqualTo(14);
+        target.getProfile("U3").get();
+        target.getProfile("U16").get();
+        verify(delegate, times(1)).getProfile("U3");
+        verify(delegate, times(1)).getProfile("U16");
+        target.getProfile("U2").get();
+        verify(delegate, times(2)).getProfile("U2");
+    }
+
+    private void advanceMillis(final long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import com.linecorp.bot.client.exception.BadRequestException;
+import com.linecorp.bot.model.PushMessage;
+import com.linecorp.bot.model.message.TextMessage;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+import com.linecorp.bot.model.response.BotApiResponse;
+
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+public class ReactiveLineMessagingClientImplTest {
+    private MockWebServer mockWebServer;
+    private Dispatcher dispatcher;
+    private ReactiveLineMessagingClient target;
+
+    @Before
+    public void setUp() {
+        mockWebServer = new MockWebServer();
+        dispatcher = new Dispatcher();
+        final LineMessagingService lineMessagingService =
+                LineMessagingServiceBuilder.create("token")
+                                           .apiEndPoint("http://localhost:" + mockWebServer.getPort())
+                                           .okHttpClientBuilder(new OkHttpClient.Builder().dispatcher(dispatcher),
+                                                                false)
+                                           .build();
+        target = new ReactiveLineMessagingClientImpl(lineMessagingService);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mockWebServer.shutdown();
+    }
+
+    @Test(timeout = 5_000)
+    public void getProfile() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"displayName\":\"name\",\"userId\":\"USER_ID\"}"));
+
+        // Do
+        final UserProfileResponse profile = target.getProfile("USER_ID").block();
+
+        // Verify
+        assertThat(profile.getDisplayName()).isEqualTo("name");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/v2/bot/profile/USER_ID");
+    }
+
+    @Test(timeout = 5_000)
+    public void errorIsConverted() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400)
+                                                .setBody("{\"message\":\"Invalid reply token\"}"));
+
+        // Do
+        final Throwable error = target.getProfile("USER_ID")
+                                      .materialize()
+                                      .block()
+                                      .getThrowable();
+
+        // Verify
+        assertThat(error).isInstanceOf(BadRequestException.class);
+        assertThat(((BadRequestException) error).getErrorResponse().getMessage())
+                .isEqualTo("Invalid reply token");
+    }
+
+    @Test(timeout = 5_000)
+    public void pushMessagesWithBoundedConcurrency() throws Exception {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        mockWebServer.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                TimeUnit.MILLISECONDS.sleep(20);
+                inFlight.decrementAndGet();
+                return new MockResponse().setBody("{}");
+            }
+        });
+
+        // Do
+        final List<BotApiResponse> responses =
+                target.pushMessages(Flux.range(0, 20)
+                                        .map(i -> new PushMessage("USER_" + i, new TextMessage("Hello"))), 3)
+                      .collectList()
+                      .block();
+
+        // Verify
+        assertThat(responses).hasSize(20);
+        assertThat(maxInFlight.get()).isBetween(1, 3);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(20);
+    }
+
+    @Test(timeout = 5_000)
+    public void cancellationCancelsCall() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        // Do
+        final Disposable subscription = target.getProfile("USER_ID").subscribe();
+        mockWebServer.takeRequest();
+        assertThat(dispatcher.runningCallsCount()).isEqualTo(1);
+        subscription.dispose();
+
+        // Verify
+        while (dispatcher.runningCallsCount() != 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    @Test(timeout = 5_000)
+    public void getMessageContentInChunks() throws Exception {
+        final byte[] content = new byte[ReactiveLineMessagingClientImpl.CONTENT_CHUNK_SIZE * 2 + 10];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "image/jpeg")
+                                                .setBody(new Buffer().write(content)));
+
+        // Do
+        final ByteBuffer received = target.getMessageContent("ID")
+                                          .reduce(ByteBuffer.allocate(content.length), ByteBuffer::put)
+                                          .block();
+
+        // Verify
+        assertThat(received.array()).isEqualTo(content);
+    }
+
+    @Test(timeout = 5_000)
+    public void getMessageContentErrorIsConverted() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400)
+                                                .setBody("{\"message\":\"Invalid message id\"}"));
+
+        // Do
+        final Throwable error = target.getMessageContent("ID")
+                                      .materialize()
+                                      .blockFirst()
+                                      .getThrowable();
+
+        // Verify
+        assertThat(error).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test(timeout = 5_000)
+    public void cancellingMessageContentClosesBody() throws Exception {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final OkHttpClient.Builder okHttpClientBuilder = new OkHttpClient.Builder().addInterceptor(chain -> {
+            final Response response = chain.proceed(chain.request());
+            final BufferedSource source = Okio.buffer(new ForwardingSource(response.body().source()) {
+                @Override
+                public void close() throws IOException {
+                    closed.set(true);
+                    super.close();
+                }
+            });
+            return response.newBuilder()
+                           .body(ResponseBody.create(response.body().contentType(),
+                                                     response.body().contentLength(), source))
+                           .build();
+        });
+        target = new ReactiveLineMessagingClientImpl(
+                LineMessagingServiceBuilder.create("token")
+                                           .apiEndPoint("http://localhost:" + mockWebServer.getPort())
+                                           .okHttpClientBuilder(okHttpClientBuilder, false)
+                                           .build());
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "image/jpeg")
+                                                .setBody(new Buffer().write(
+                                                        new byte[ReactiveLineMessagingClientImpl.CONTENT_CHUNK_SIZE
+                                                                 * 3])));
+
+        // Do
+        target.getMessageContent("ID").take(1).blockLast();
+
+        // Verify
+        while (!closed.get()) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    @Test(timeout = 5_000)
+    public void getMessageContentReadsOnElasticThreads() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "image/jpeg")
+                                                .setBody(new Buffer().write(
+                                                        new byte[ReactiveLineMessagingClientImpl.CONTENT_CHUNK_SIZE
+                                                                 * 3])));
+        final List<String> readers = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        final BaseSubscriber<ByteBuffer> subscriber = new BaseSubscriber<ByteBuffer>() {
+            @Override
+            protected void hookOnSubscribe(final Subscription subscription) {
+                // Request from the test thread only.
+            }
+
+            @Override
+            protected void hookOnNext(final ByteBuffer value) {
+                readers.add(Thread.currentThread().getName());
+            }
+
+            @Override
+            protected void hookFinally(final SignalType type) {
+                done.countDown();
+            }
+        };
+
+        // Do
+        target.getMessageContent("ID").subscribe(subscriber);
+        while (done.getCount() > 0) {
+            subscriber.request(1);
+            done.await(10, TimeUnit.MILLISECONDS);
+        }
+
+        // Verify
+        assertThat(readers).isNotEmpty().allMatch(name -> name.startsWith("elastic-"));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.annotation.Annotation;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.bot.model.PushMessage;
+import com.linecorp.bot.model.message.TextMessage;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+import com.linecorp.bot.model.response.BotApiResponse;
+
+import okhttp3.RequestBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import retrofit2.Converter;
+
+public class StreamingJacksonConverterFactoryTest extends AbstractWiremockTest {
+    private static final ObjectMapper OBJECT_MAPPER = LineBotJsonCodec.getDefault().getObjectMapper();
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void requestBodyHasContentLengthByDefault() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"message\":\"ok\"}"));
+        final PushMessage pushMessage = new PushMessage("U1234", new TextMessage("こんにちは"));
+
+        final BotApiResponse response = lineMessagingClient.pushMessage(pushMessage).get();
+
+        final RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getHeader("Content-Type")).isEqualTo("application/json; charset=UTF-8");
+        assertThat(request.getHeader("Transfer-Encoding")).isNull();
+        assertThat(request.getHeader("Content-Length")).isEqualTo(String.valueOf(request.getBodySize()));
+        assertThat(OBJECT_MAPPER.readTree(request.getBody().readByteArray()))
+                .isEqualTo(OBJECT_MAPPER.valueToTree(pushMessage));
+        assertThat(response.getMessage()).isEqualTo("ok");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void bufferedRequestBodyCanBeWrittenRepeatedly() throws Exception {
+        final Converter<PushMessage, RequestBody> converter =
+                (Converter<PushMessage, RequestBody>) StreamingJacksonConverterFactory
+                        .create(LineBotJsonCodec.getDefault())
+                        .requestBodyConverter(PushMessage.class, new Annotation[0], new Annotation[0], null);
+        final PushMessage pushMessage = new PushMessage("U1234", new TextMessage("こんにちは"));
+        final byte[] expected = LineBotJsonCodec.getDefault().getPushMessageWriter().writeValueAsBytes(pushMessage);
+
+        final RequestBody body = converter.convert(pushMessage);
+        final Buffer first = new Buffer();
+        body.writeTo(first);
+        final Buffer second = new Buffer();
+        body.writeTo(second);
+
+        assertThat(body.contentLength()).isEqualTo(expected.length);
+        assertThat(first.readByteArray()).isEqualTo(expected);
+        assertThat(second.readByteArray()).isEqualTo(expected);
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void requestBodyWrittenToSink() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"message\":\"ok\"}"));
+        final PushMessage pushMessage = new PushMessage("U1234", new TextMessage("こんにちは"));
+        final LineMessagingClient client = new LineMessagingClientImpl(
+                LineMessagingServiceBuilder.create("token")
+                                           .apiEndPoint("http://localhost:" + mockWebServer.getPort())
+                                           .streamingRequestBodies(true)
+                                           .build());
+
+        final BotApiResponse response = client.pushMessage(pushMessage).get();
+
+        final RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getHeader("Content-Type")).isEqualTo("application/json; charset=UTF-8");
+        assertThat(request.getHeader("Transfer-Encoding")).isEqualTo("chunked");
+        assertThat(OBJECT_MAPPER.readTree(request.getBody().readByteArray()))
+                .isEqualTo(OBJECT_MAPPER.valueToTree(pushMessage));
+        assertThat(response.getMessage()).isEqualTo("ok");
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void responseBodyReadFromByteStream() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody(
+                "{\"displayName\":\"ブラウン\",\"userId\":\"U1234\",\"unknown\":[1,{}]}"));
+
+        final UserProfileResponse profile = lineMessagingClient.getProfile("U1234").get();
+
+        assertThat(profile.getDisplayName()).isEqualTo("ブラウン");
+        assertThat(profile.getUserId()).isEqualTo("U1234");
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.io.ByteStreams;
+
+import com.linecorp.bot.client.WireLoggingInterceptor.Level;
+import com.linecorp.bot.model.PushMessage;
+import com.linecorp.bot.model.message.TextMessage;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+
+public class WireLoggingInterceptorTest extends AbstractWiremockTest {
+    private final Logger wireLogger = (Logger) LoggerFactory.getLogger("com.linecorp.bot.client.wire");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @Before
+    public void setUpAppender() {
+        appender.start();
+        wireLogger.addAppender(appender);
+    }
+
+    @After
+    public void tearDownAppender() {
+        wireLogger.detachAppender(appender);
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void bodyIsLoggedForConfiguredEndpoint() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "application/json")
+                                                .setBody("{\"message\":\"ok\",\"details\":[]}"));
+
+        // Do
+        lineMessagingClient.pushMessage(new PushMessage("USER_ID", new TextMessage("Hello"))).get();
+
+        // Verify
+        final List<String> logs = messages();
+        assertThat(logs).hasSize(2);
+        assertThat(logs.get(0))
+                .startsWith("--> POST")
+                .contains("Authorization: ****")
+                .contains("{\"to\":\"USER_ID\",\"mes")
+                .doesNotContain("Hello")
+                .contains("logged up to 20 bytes");
+        assertThat(logs.get(1))
+                .startsWith("<-- 200 POST")
+                .contains("{\"message\":\"ok\",\"det");
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void levelAppliesToEndpointsWithoutOwnLevel() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "application/json")
+                                                .setBody("{\"displayName\":\"name\"}"));
+
+        // Do
+        lineMessagingClient.getProfile("USER_ID").get();
+
+        // Verify
+        final List<String> logs = messages();
+        assertThat(logs).hasSize(2);
+        assertThat(logs.get(1))
+                .startsWith("<-- 200 GET")
+                .doesNotContain("Content-Type")
+                .doesNotContain("displayName");
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void messageContentIsNeverRead() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "text/plain")
+                                                .setBody(new Buffer().writeUtf8("CONTENT")));
+
+        // Do
+        final MessageContentResponse response = lineMessagingClient.getMessageContent("ID").get();
+
+        // Verify
+        final List<String> logs = messages();
+        assertThat(logs).hasSize(2);
+        assertThat(logs.get(1))
+                .contains("Content-Type: text/plain")
+                .doesNotContain("CONTENT");
+        assertThat(ByteStreams.toByteArray(response.getStream())).isEqualTo("CONTENT".getBytes(UTF_8));
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void noneLevelSkipsLogging() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("{}"));
+
+        // Do
+        lineMessagingClient.leaveGroup("GROUP_ID").get();
+
+        // Verify
+        assertThat(messages()).isEmpty();
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void endpointLevelsApplyUnderBasePath() throws Exception {
+        final LineMessagingClient client = createLineMessagingClient(
+                "http://localhost:" + mockWebServer.getPort() + "/line/", wireLogging(20));
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "application/json")
+                                                .setBody("{}"));
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "text/plain")
+                                                .setBody(new Buffer().writeUtf8("CONTENT")));
+
+        // Do
+        client.pushMessage(new PushMessage("USER_ID", new TextMessage("Hello"))).get();
+        client.getMessageContent("ID").get();
+
+        // Verify
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/line/v2/bot/message/push");
+        final List<String> logs = messages();
+        assertThat(logs).hasSize(4);
+        assertThat(logs.get(0)).contains("{\"to\":\"USER_ID\",\"mes");
+        assertThat(logs.get(3))
+                .contains("Content-Type: text/plain")
+                .doesNotContain("CONTENT");
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void bodyIsCutAtCharacterBoundary() throws Exception {
+        // {"to":" and {"ab":" are 7 bytes and a kana is 3 bytes in UTF-8, so 9 bytes end in the middle of one.
+        final LineMessagingClient client = createLineMessagingClient(
+                "http://localhost:" + mockWebServer.getPort(), wireLogging(9));
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "application/json")
+                                                .setBody(new Buffer().writeUtf8("{\"ab\":\"\u3042\u3044\"}")));
+
+        // Do
+        client.pushMessage(new PushMessage("\u3042\u3044", new TextMessage("Hello"))).get();
+
+        // Verify
+        final List<String> logs = messages();
+        assertThat(logs).hasSize(2);
+        assertThat(logs.get(0))
+                .contains("\n{\"to\":\"... (")
+                .doesNotContain("\ufffd");
+        assertThat(logs.get(1))
+                .contains("\n{\"ab\":\"... (15 bytes")
+                .doesNotContain("\ufffd");
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void unknownBodyLengthIsOmitted() throws Exception {
+        final LineMessagingClient client = new LineMessagingClientImpl(
+                LineMessagingServiceBuilder.create("token")
+                                           .apiEndPoint("http://localhost:" + mockWebServer.getPort())
+                                           .streamingRequestBodies(true)
+                                           .wireLogging(WireLoggingInterceptor.builder()
+                                                                              .level(Level.BASIC)
+                                                                              .build())
+                                           .build());
+        mockWebServer.enqueue(new MockResponse().setBody("{}"));
+
+        // Do
+        client.pushMessage(new PushMessage("USER_ID", new TextMessage("Hello"))).get();
+
+        // Verify
+        final List<String> logs = messages();
+        assertThat(logs).hasSize(2);
+        assertThat(logs.get(0))
+                .endsWith("/v2/bot/message/push")
+                .doesNotContain("-byte body");
+        assertThat(logs.get(1)).contains("ms, 2-byte body)");
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void basicLevelByDefault() throws Exception {
+        final LineMessagingClient client = createLineMessagingClient(
+                "http://localhost:" + mockWebServer.getPort(), WireLoggingInterceptor.create());
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "application/json")
+                                                .setBody("{\"displayName\":\"name\"}"));
+
+        // Do
+        client.getProfile("USER_ID").get();
+
+        // Verify
+        final List<String> logs = messages();
+        assertThat(logs).hasSize(2);
+        assertThat(logs.get(1))
+                .startsWith("<-- 200 GET")
+                .doesNotContain("Content-Type")
+                .doesNotContain("displayName");
+    }
+
+    @Test(timeout = ASYNC_TEST_TIMEOUT)
+    public void chunkedBodyIsMarkedOnlyWhenCut() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "application/json")
+                                                .setChunkedBody("{\"message\":\"ok\"}", 4));
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "application/json")
+                                                .setChunkedBody("{\"message\":\"ok\",\"details\":[]}", 4));
+
+        // Do
+        lineMessagingClient.pushMessage(new PushMessage("USER_ID", new TextMessage("Hello"))).get();
+        lineMessagingClient.pushMessage(new PushMessage("USER_ID", new TextMessage("Hello"))).get();
+
+        // Verify
+        final List<String> logs = messages();
+        assertThat(logs).hasSize(4);
+        assertThat(logs.get(1)).endsWith("\n{\"message\":\"ok\"}");
+        assertThat(logs.get(3))
+                .endsWith("\n{\"message\":\"ok\",\"det... (unknown length, logged up to 20 bytes)");
+    }
+
+    @Test
+    public void negativeLimitsAreRejected() {
+        assertThatThrownBy(() -> WireLoggingInterceptor.builder().maxHeaderBytes(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WireLoggingInterceptor.builder().maxBodyBytes(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void decodeDropsCutCharacter() {
+        final byte[] bytes = "a\u3042".getBytes(UTF_8);
+        assertThat(WireLoggingInterceptor.decode(bytes, UTF_8)).isEqualTo("a\u3042");
+        assertThat(WireLoggingInterceptor.decode(Arrays.copyOf(bytes, 3), UTF_8)).isEqualTo("a");
+        assertThat(WireLoggingInterceptor.decode(Arrays.copyOf(bytes, 2), UTF_8)).isEqualTo("a");
+        assertThat(WireLoggingInterceptor.decode(Arrays.copyOf(bytes, 1), UTF_8)).isEqualTo("a");
+    }
+
+    private List<String> messages() {
+        return appender.list.stream()
+                            .map(ILoggingEvent::getFormattedMessage)
+                            .collect(Collectors.toList());
+    }
+
+    @Override
+    protected LineMessagingClientImpl createLineMessagingClient(final MockWebServer mockWebServer) {
+        return createLineMessagingClient("http://localhost:" + mockWebServer.getPort(), wireLogging(20));
+    }
+
+    private static WireLoggingInterceptor wireLogging(final int maxBodyBytes) {
+        return WireLoggingInterceptor.builder()
+                                     .level(Level.BASIC)
+                                     .endpointLevel("/v2/bot/message/push", Level.BODY)
+                                     .endpointLevel("/v2/bot/message/{messageId}/content", Level.BODY)
+                                     .endpointLevel("/v2/bot/group/{groupId}/leave", Level.NONE)
+                                     .maxBodyBytes(maxBodyBytes)
+                                     .build();
+    }
+
+    private static LineMessagingClientImpl createLineMessagingClient(final String apiEndPoint,
+                                                                     final WireLoggingInterceptor wireLogging) {
+        final LineMessagingService lineMessagingService =
+                LineMessagingServiceBuilder.create("token")
+                                           .apiEndPoint(apiEndPoint)
+                                           .wireLogging(wireLogging)
+                                           .build();
+        return new LineMessagingClientImpl(lineMessagingService);
+    }
+}
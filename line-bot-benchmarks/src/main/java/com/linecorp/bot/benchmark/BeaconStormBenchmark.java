@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import com.linecorp.bot.client.LineBotJsonCodec;
+import com.linecorp.bot.model.event.BeaconEvent;
+import com.linecorp.bot.model.event.CallbackRequest;
+import com.linecorp.bot.model.event.Event;
+
+/**
+ * Benchmark for webhook requests full of {@link BeaconEvent}s with device messages.
+ *
+ * <p>{@code parse} only reads the request. {@code parseAndReadDeviceMessage} and
+ * {@code parseAndViewDeviceMessage} also read every device message byte, through the copy returned by
+ * {@code getDeviceMessage()} and the view returned by {@code getDeviceMessageAsByteBuffer()}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeaconStormBenchmark {
+    private static final int EVENTS = 100;
+
+    private ObjectReader callbackRequestReader;
+    private byte[] callbackRequest;
+
+    @Setup
+    public void setUp() throws Exception {
+        callbackRequestReader = LineBotJsonCodec.getDefault().getCallbackRequestReader();
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final ObjectNode request = objectMapper.createObjectNode();
+        final ArrayNode events = request.putArray("events");
+        for (int i = 0; i < EVENTS; i++) {
+            final ObjectNode event = events.addObject();
+            event.put("type", "beacon")
+                 .put("replyToken", "nHuyWiB7yP5Zw52FIkcQobQuGDXCTA")
+                 .put("timestamp", 1462629479859L + i);
+            event.putObject("source").put("type", "user").put("userId", String.format("U%032x", i % 10));
+            event.putObject("beacon")
+                 .put("hwid", "d41d8cd98f")
+                 .put("type", "enter")
+                 .put("dm", String.format("1234567890abcdef%010X", i));
+        }
+        callbackRequest = objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public CallbackRequest parse() throws Exception {
+        return callbackRequestReader.readValue(callbackRequest);
+    }
+
+    @Benchmark
+    public int parseAndReadDeviceMessage() throws Exception {
+        final CallbackRequest request = callbackRequestReader.readValue(callbackRequest);
+        int sum = 0;
+        for (Event event : request.getEvents()) {
+            for (byte b : ((BeaconEvent) event).getBeacon().getDeviceMessage()) {
+                sum += b;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int parseAndViewDeviceMessage() throws Exception {
+        final CallbackRequest request = callbackRequestReader.readValue(callbackRequest);
+        int sum = 0;
+        for (Event event : request.getEvents()) {
+            final ByteBuffer deviceMessage = ((BeaconEvent) event).getBeacon().getDeviceMessageAsByteBuffer();
+            for (int i = deviceMessage.position(); i < deviceMessage.limit(); i++) {
+                sum += deviceMessage.get(i);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.linecorp.bot.client.LineSignatureValidator;
+import com.linecorp.bot.model.event.CallbackRequest;
+import com.linecorp.bot.servlet.LineBotCallbackRequestParser;
+
+/**
+ * Benchmark for {@link LineBotCallbackRequestParser#handle(String, String)},
+ * which validates signature and deserializes webhook payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallbackRequestParserBenchmark {
+    @Param({ Fixtures.SINGLE_TEXT, Fixtures.MIXED })
+    public String fixture;
+
+    private LineBotCallbackRequestParser lineBotCallbackRequestParser;
+    private String payload;
+    private String signature;
+
+    @Setup
+    public void setUp() {
+        lineBotCallbackRequestParser = new LineBotCallbackRequestParser(
+                new LineSignatureValidator(Fixtures.CHANNEL_SECRET.getBytes(StandardCharsets.US_ASCII)));
+        payload = Fixtures.loadAsString(fixture);
+        signature = Fixtures.sign(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public CallbackRequest handle() throws Exception {
+        return lineBotCallbackRequestParser.handle(signature, payload);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import com.google.common.io.ByteStreams;
+
+import com.linecorp.bot.client.LineSignatureValidator;
+import com.linecorp.bot.model.action.MessageAction;
+import com.linecorp.bot.model.action.PostbackAction;
+import com.linecorp.bot.model.action.URIAction;
+import com.linecorp.bot.model.message.TemplateMessage;
+import com.linecorp.bot.model.message.template.CarouselColumn;
+import com.linecorp.bot.model.message.template.CarouselTemplate;
+import com.linecorp.bot.model.message.template.ConfirmTemplate;
+
+/**
+ * Webhook payload fixtures shared by benchmarks.
+ */
+public final class Fixtures {
+    /**
+     * Channel secret used to sign fixtures.
+     */
+    public static final String CHANNEL_SECRET = "SECRET";
+
+    /**
+     * A webhook request which contains one text message event.
+     */
+    public static final String SINGLE_TEXT = "fixtures/callback-single-text.json";
+
+    /**
+     * A webhook request which contains message, postback, beacon, follow, unfollow and join events
+     * from user, group and room sources.
+     */
+    public static final String MIXED = "fixtures/callback-mixed.json";
+
+    private Fixtures() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Load fixture from class path.
+     */
+    public static byte[] load(final String resourceName) {
+        try (InputStream resource = Fixtures.class.getClassLoader().getResourceAsStream(resourceName)) {
+            if (resource == null) {
+                throw new IllegalArgumentException("Fixture not found: " + resourceName);
+            }
+            return ByteStreams.toByteArray(resource);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Load fixture from class path as UTF-8 string.
+     */
+    public static String loadAsString(final String resourceName) {
+        return new String(load(resourceName), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compute {@code X-Line-Signature} header value of the content with {@link #CHANNEL_SECRET}.
+     */
+    public static String sign(final byte[] content) {
+        final LineSignatureValidator validator =
+                new LineSignatureValidator(CHANNEL_SECRET.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(validator.generateSignature(content));
+    }
+
+    /**
+     * Confirm template message, same as the one sent by the kitchen sink sample.
+     */
+    public static TemplateMessage confirmMessage() {
+        final ConfirmTemplate confirmTemplate = new ConfirmTemplate(
+                "Do it?",
+                new MessageAction("Yes", "Yes!"),
+                new MessageAction("No", "No!"));
+        return new TemplateMessage("Confirm alt text", confirmTemplate);
+    }
+
+    /**
+     * Carousel template message with full set of columns.
+     */
+    public static TemplateMessage carouselMessage() {
+        final String imageUrl = "https://example.com/static/buttons/1040.jpg";
+        final CarouselColumn[] columns = new CarouselColumn[5];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new CarouselColumn(
+                    imageUrl, "Item " + i, "Description of the item " + i,
+                    Arrays.asList(
+                            new URIAction("Go to line.me", "https://line.me"),
+                            new PostbackAction("Buy", "action=buy&itemId=" + i, "Buy item " + i),
+                            new MessageAction("Say message", "Rice=米")));
+        }
+        return new TemplateMessage("Carousel alt text", new CarouselTemplate(Arrays.asList(columns)));
+    }
+}
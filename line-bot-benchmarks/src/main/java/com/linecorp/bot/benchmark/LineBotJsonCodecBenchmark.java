@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+import com.linecorp.bot.client.LineBotJsonCodec;
+import com.linecorp.bot.model.ReplyMessage;
+import com.linecorp.bot.model.event.CallbackRequest;
+import com.linecorp.bot.model.message.TextMessage;
+
+/**
+ * Benchmark for {@link LineBotJsonCodec}.
+ *
+ * <p>{@code *ObjectMapper} look up (de)serializers by type per call, as the SDK did before;
+ * {@code *Codec} use precomputed readers and writers. {@code afterburner} registers Afterburner,
+ * which {@link LineBotJsonCodec#getDefault()} does when it's on the classpath.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineBotJsonCodecBenchmark {
+    @Param({ "false", "true" })
+    public boolean afterburner;
+
+    private ObjectMapper objectMapper;
+    private LineBotJsonCodec codec;
+    private byte[] callbackRequest;
+    private ReplyMessage replyMessage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = LineBotJsonCodec.createObjectMapper();
+        if (afterburner) {
+            objectMapper.registerModule(new AfterburnerModule());
+        }
+        codec = LineBotJsonCodec.create(objectMapper);
+
+        callbackRequest = Fixtures.load(Fixtures.MIXED);
+        replyMessage = new ReplyMessage("nHuyWiB7yP5Zw52FIkcQobQuGDXCTA", Arrays.asList(
+                new TextMessage("Here are recommended items"),
+                Fixtures.carouselMessage()));
+    }
+
+    @Benchmark
+    public CallbackRequest readCallbackRequestObjectMapper() throws Exception {
+        return objectMapper.readValue(callbackRequest, CallbackRequest.class);
+    }
+
+    @Benchmark
+    public CallbackRequest readCallbackRequestCodec() throws Exception {
+        return codec.getCallbackRequestReader().readValue(callbackRequest);
+    }
+
+    @Benchmark
+    public byte[] writeReplyMessageObjectMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(replyMessage);
+    }
+
+    @Benchmark
+    public byte[] writeReplyMessageWriter() throws Exception {
+        return codec.getReplyMessageWriter().writeValueAsBytes(replyMessage);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import com.linecorp.bot.client.LineBotJsonCodec;
+import com.linecorp.bot.client.PreparedMessages;
+import com.linecorp.bot.model.ReplyMessage;
+import com.linecorp.bot.model.message.Message;
+import com.linecorp.bot.model.message.TextMessage;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+
+/**
+ * Benchmark for {@link PreparedMessages} against serializing {@link ReplyMessage} on each call.
+ *
+ * <p>Both produce the {@link RequestBody} sent by Retrofit, {@code serialize} the way
+ * {@code JacksonConverterFactory} does.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreparedMessagesBenchmark {
+    private static final MediaType JSON = MediaType.parse("application/json; charset=UTF-8");
+    private static final String REPLY_TOKEN = "nHuyWiB7yP5Zw52FIkcQobQuGDXCTA";
+
+    private ObjectWriter replyMessageWriter;
+    private List<Message> carousel;
+    private PreparedMessages preparedCarousel;
+
+    @Setup
+    public void setUp() {
+        replyMessageWriter = LineBotJsonCodec.getDefault().getReplyMessageWriter();
+        carousel = Arrays.asList(new TextMessage("Here are recommended items"), Fixtures.carouselMessage());
+        preparedCarousel = PreparedMessages.of(carousel);
+    }
+
+    @Benchmark
+    public RequestBody serialize() throws Exception {
+        return RequestBody.create(JSON, replyMessageWriter.writeValueAsBytes(
+                new ReplyMessage(REPLY_TOKEN, carousel)));
+    }
+
+    @Benchmark
+    public RequestBody prepared() {
+        return preparedCarousel.toReplyMessageBody(REPLY_TOKEN);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import com.linecorp.bot.model.ReplyMessage;
+import com.linecorp.bot.model.message.TextMessage;
+
+/**
+ * Benchmark for Jackson serialization of {@link ReplyMessage} request bodies.
+ *
+ * <p>{@link ObjectMapper} is configured same as the default one of
+ * {@link com.linecorp.bot.client.LineMessagingServiceBuilder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplyMessageSerializationBenchmark {
+    private static final String REPLY_TOKEN = "nHuyWiB7yP5Zw52FIkcQobQuGDXCTA";
+
+    private ObjectMapper objectMapper;
+    private ReplyMessage textReply;
+    private ReplyMessage confirmReply;
+    private ReplyMessage carouselReply;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.registerModule(new JavaTimeModule())
+                    .configure(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS, false);
+
+        textReply = new ReplyMessage(REPLY_TOKEN, new TextMessage("Hello, world"));
+        confirmReply = new ReplyMessage(REPLY_TOKEN, Fixtures.confirmMessage());
+        carouselReply = new ReplyMessage(REPLY_TOKEN, Arrays.asList(
+                new TextMessage("Here are recommended items"),
+                Fixtures.carouselMessage()));
+    }
+
+    @Benchmark
+    public byte[] text() throws Exception {
+        return objectMapper.writeValueAsBytes(textReply);
+    }
+
+    @Benchmark
+    public byte[] confirm() throws Exception {
+        return objectMapper.writeValueAsBytes(confirmReply);
+    }
+
+    @Benchmark
+    public byte[] carousel() throws Exception {
+        return objectMapper.writeValueAsBytes(carouselReply);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.linecorp.bot.model.event.source.SourceId;
+import com.linecorp.bot.spring.boot.support.OffHeapSessionStore;
+import com.linecorp.bot.spring.boot.support.SessionCodec;
+
+/**
+ * Benchmark for {@link OffHeapSessionStore} against a {@link ConcurrentHashMap} on the heap,
+ * updating the session of a random one of {@code users} senders each time.
+ *
+ * <p>Run with {@code -prof gc} to compare GC time; the heap map keeps every session as objects
+ * the collector has to trace.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SessionStoreBenchmark {
+    @Param({ "1000000" })
+    public int users;
+
+    private String[] senderIds;
+    private Map<String, Order> heapStore;
+    private OffHeapSessionStore<Order> offHeapStore;
+
+    @Setup
+    public void setUp() {
+        senderIds = new String[users];
+        heapStore = new ConcurrentHashMap<>();
+        offHeapStore = OffHeapSessionStore.create(new OrderCodec(), users, TimeUnit.HOURS.toMillis(1));
+        for (int i = 0; i < users; i++) {
+            senderIds[i] = String.format("U%032x", i);
+            heapStore.put(senderIds[i], new Order(i, 0));
+            offHeapStore.put(SourceId.of(senderIds[i]), new Order(i, 0));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        offHeapStore.close();
+    }
+
+    @Benchmark
+    public Order heap() {
+        // A fresh String, as each webhook request brings.
+        final String senderId = new String(senderIds[ThreadLocalRandom.current().nextInt(users)]);
+        return heapStore.compute(senderId, (key, order) -> new Order(order.orderId, order.step + 1));
+    }
+
+    @Benchmark
+    public Order offHeap() {
+        final SourceId senderId = SourceId.of(new String(senderIds[ThreadLocalRandom.current().nextInt(users)]));
+        final Order order = offHeapStore.get(senderId);
+        final Order next = new Order(order.orderId, order.step + 1);
+        offHeapStore.put(senderId, next);
+        return next;
+    }
+
+    public static final class Order {
+        final long orderId;
+        final int step;
+
+        Order(final long orderId, final int step) {
+            this.orderId = orderId;
+            this.step = step;
+        }
+    }
+
+    static final class OrderCodec implements SessionCodec<Order> {
+        @Override
+        public int size() {
+            return Long.BYTES + Integer.BYTES;
+        }
+
+        @Override
+        public void write(final Order value, final ByteBuffer buffer) {
+            buffer.putLong(value.orderId).putInt(value.step);
+        }
+
+        @Override
+        public Order read(final ByteBuffer buffer) {
+            return new Order(buffer.getLong(), buffer.getInt());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.benchmark;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.linecorp.bot.client.LineBotJsonCodec;
+import com.linecorp.bot.client.StreamingJacksonConverterFactory;
+import com.linecorp.bot.model.Multicast;
+import com.linecorp.bot.model.message.TextMessage;
+
+import okhttp3.RequestBody;
+import okio.Buffer;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+/**
+ * Benchmark for {@link StreamingJacksonConverterFactory} against {@link JacksonConverterFactory},
+ * converting a {@link Multicast} with a carousel to 150 recipients and writing it to a sink.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingConverterBenchmark {
+    private static final int RECIPIENTS = 150;
+
+    private Converter<Object, RequestBody> buffering;
+    private Converter<Object, RequestBody> streaming;
+    private Multicast multicast;
+    private final Buffer sink = new Buffer();
+
+    @Setup
+    public void setUp() {
+        final ObjectMapper objectMapper = LineBotJsonCodec.getDefault().getObjectMapper();
+        final Retrofit retrofit = new Retrofit.Builder().baseUrl("http://localhost/").build();
+        buffering = requestBodyConverter(JacksonConverterFactory.create(objectMapper), retrofit);
+        streaming = requestBodyConverter(
+                StreamingJacksonConverterFactory.create(objectMapper).withStreamingRequestBodies(), retrofit);
+
+        final Set<String> to = new LinkedHashSet<>();
+        for (int i = 0; i < RECIPIENTS; i++) {
+            to.add(String.format("U%032x", i));
+        }
+        multicast = new Multicast(to, Arrays.asList(new TextMessage("Here are recommended items"),
+                                                    Fixtures.carouselMessage()));
+    }
+
+    @Benchmark
+    public long buffering() throws Exception {
+        return write(buffering);
+    }
+
+    @Benchmark
+    public long streaming() throws Exception {
+        return write(streaming);
+    }
+
+    private long write(final Converter<Object, RequestBody> converter) throws Exception {
+        converter.convert(multicast).writeTo(sink);
+        final long size = sink.size();
+        sink.clear();
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Converter<Object, RequestBody> requestBodyConverter(final Converter.Factory factory,
+                                                                       final Retrofit retrofit) {
+        return (Converter<Object, RequestBody>) factory.requestBodyConverter(
+                Multicast.class, new Annotation[0], new Annotation[0], retrofit);
+    }
+}
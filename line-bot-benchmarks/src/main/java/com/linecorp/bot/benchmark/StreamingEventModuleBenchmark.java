@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import com.linecorp.bot.client.LineBotJsonCodec;
+import com.linecorp.bot.model.event.CallbackRequest;
+import com.linecorp.bot.model.event.StreamingEventModule;
+
+/**
+ * Benchmark for {@link StreamingEventModule} against annotation based polymorphic deserialization.
+ *
+ * <p>Reads a webhook request of {@code BATCH_COPIES} copies of {@link Fixtures#MIXED} events.
+ * With {@code typeLast}, the {@code type} property of each event, source and message is moved to the end,
+ * which makes annotation based deserialization buffer the whole object first.
+ * {@code streamingLazyContent} leaves message, postback and beacon content unread, as a handler ignoring
+ * the events would.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingEventModuleBenchmark {
+    private static final int BATCH_COPIES = 20;
+
+    @Param({ "false", "true" })
+    public boolean typeLast;
+
+    private ObjectReader annotationBasedReader;
+    private ObjectReader streamingReader;
+    private ObjectReader lazyContentReader;
+    private byte[] callbackRequest;
+
+    @Setup
+    public void setUp() throws Exception {
+        annotationBasedReader = LineBotJsonCodec.createObjectMapper().readerFor(CallbackRequest.class);
+        streamingReader = LineBotJsonCodec.createObjectMapper()
+                                          .registerModule(new StreamingEventModule())
+                                          .readerFor(CallbackRequest.class);
+        lazyContentReader = LineBotJsonCodec.createObjectMapper()
+                                            .registerModule(StreamingEventModule.lazyContent())
+                                            .readerFor(CallbackRequest.class);
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final JsonNode fixture = objectMapper.readTree(Fixtures.load(Fixtures.MIXED));
+        final ObjectNode batch = objectMapper.createObjectNode();
+        final ArrayNode events = batch.putArray("events");
+        for (int i = 0; i < BATCH_COPIES; i++) {
+            for (JsonNode event : fixture.get("events")) {
+                final ObjectNode copy = event.deepCopy();
+                if (typeLast) {
+                    moveTypeLast(copy);
+                    moveTypeLast(copy.get("source"));
+                    moveTypeLast(copy.get("message"));
+                }
+                events.add(copy);
+            }
+        }
+        callbackRequest = objectMapper.writeValueAsBytes(batch);
+        lazyContentReader = lazyContentReader.withAttribute(StreamingEventModule.PAYLOAD, callbackRequest);
+    }
+
+    @Benchmark
+    public CallbackRequest annotationBased() throws Exception {
+        return annotationBasedReader.readValue(callbackRequest);
+    }
+
+    @Benchmark
+    public CallbackRequest streaming() throws Exception {
+        return streamingReader.readValue(callbackRequest);
+    }
+
+    @Benchmark
+    public CallbackRequest streamingLazyContent() throws Exception {
+        return lazyContentReader.readValue(callbackRequest);
+    }
+
+    private static void moveTypeLast(final JsonNode node) {
+        if (node instanceof ObjectNode && node.has("type")) {
+            final ObjectNode object = (ObjectNode) node;
+            object.set("type", object.remove("type"));
+        }
+    }
+}
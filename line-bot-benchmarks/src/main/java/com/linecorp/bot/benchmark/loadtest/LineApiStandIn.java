@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.benchmark.loadtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * Local stand-in of LINE Messaging API endpoints
+ * used by {@link com.linecorp.bot.client.LineMessagingService}.
+ *
+ * <p>Answers every call after configured latency, and injects {@code 429}/{@code 500} errors
+ * in configured ratio.
+ */
+public class LineApiStandIn implements Closeable {
+    private static final Pattern MESSAGE_CONTENT = Pattern.compile("^/v2/bot/message/[^/]+/content$");
+    private static final Pattern PROFILE = Pattern.compile("^/v2/bot/profile/[^/]+$");
+    private static final Pattern GROUP_LEAVE = Pattern.compile("^/v2/bot/group/[^/]+/leave$");
+    private static final Pattern ROOM_LEAVE = Pattern.compile("^/v2/bot/room/[^/]+/leave$");
+    private static final byte[] CONTENT = new byte[64 * 1024];
+
+    private final MockWebServer mockWebServer = new MockWebServer();
+    private final Map<String, LongAdder> callsByEndpoint = new ConcurrentHashMap<>();
+    private final LongAdder tooManyRequests = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LoadTestOptions options;
+    private volatile long startedAt;
+
+    public LineApiStandIn(final LoadTestOptions options) {
+        this.options = options;
+        mockWebServer.setDispatcher(new StandInDispatcher());
+
+        // MockWebServer logs every request in INFO level.
+        Logger.getLogger(MockWebServer.class.getName()).setLevel(Level.WARNING);
+    }
+
+    /**
+     * Start listening on {@link LoadTestOptions#getStandInPort()}.
+     */
+    public void start() throws IOException {
+        mockWebServer.start(options.getStandInPort());
+        startedAt = System.nanoTime();
+    }
+
+    /**
+     * Base URL to be configured as {@code line.bot.api-end-point} of the bot under test.
+     */
+    public String getApiEndPoint() {
+        return mockWebServer.url("/").toString();
+    }
+
+    /**
+     * Number of calls per endpoint. Path parameters are replaced with placeholders.
+     */
+    public Map<String, Long> getCallsByEndpoint() {
+        final Map<String, Long> result = new TreeMap<>();
+        callsByEndpoint.forEach((endpoint, count) -> result.put(endpoint, count.sum()));
+        return result;
+    }
+
+    public long getTooManyRequests() {
+        return tooManyRequests.sum();
+    }
+
+    public long getServerErrors() {
+        return serverErrors.sum();
+    }
+
+    /**
+     * Elapsed seconds since {@link #start()}.
+     */
+    public double getElapsedSeconds() {
+        return (System.nanoTime() - startedAt) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    static String endpointOf(final String method, final String path) {
+        final int query = path.indexOf('?');
+        final String pathWithoutQuery = query < 0 ? path : path.substring(0, query);
+
+        final String endpoint;
+        if (MESSAGE_CONTENT.matcher(pathWithoutQuery).matches()) {
+            endpoint = "/v2/bot/message/{messageId}/content";
+        } else if (PROFILE.matcher(pathWithoutQuery).matches()) {
+            endpoint = "/v2/bot/profile/{userId}";
+        } else if (GROUP_LEAVE.matcher(pathWithoutQuery).matches()) {
+            endpoint = "/v2/bot/group/{groupId}/leave";
+        } else if (ROOM_LEAVE.matcher(pathWithoutQuery).matches()) {
+            endpoint = "/v2/bot/room/{roomId}/leave";
+        } else {
+            endpoint = pathWithoutQuery;
+        }
+        return method + ' ' + endpoint;
+    }
+
+    private class StandInDispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+            // MockWebServer queues every request with its body before dispatching it;
+            // drain the queue so a long run doesn't fill the heap.
+            mockWebServer.takeRequest(0, TimeUnit.MILLISECONDS);
+
+            final String endpoint = endpointOf(request.getMethod(), request.getPath());
+            callsByEndpoint.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final long jitter = options.getApiLatencyJitterMillis() > 0
+                                ? random.nextLong(options.getApiLatencyJitterMillis() + 1) : 0;
+            TimeUnit.MILLISECONDS.sleep(options.getApiLatencyMillis() + jitter);
+
+            final double dice = random.nextDouble();
+            if (dice < options.getTooManyRequestsRatio()) {
+                tooManyRequests.increment();
+                return error(429, "The API rate limit has been exceeded. Try again later.");
+            }
+            if (dice < options.getTooManyRequestsRatio() + options.getServerErrorRatio()) {
+                serverErrors.increment();
+                return error(500, "An error occurred on the internal server.");
+            }
+
+            if (endpoint.endsWith("/content")) {
+                return new MockResponse()
+                        .setHeader("Content-Type", "image/jpeg")
+                        .setBody(new Buffer().write(CONTENT));
+            }
+            if (endpoint.endsWith("/v2/bot/profile/{userId}")) {
+                final String path = request.getPath();
+                final String userId = path.substring(path.lastIndexOf('/') + 1);
+                return json(200, "{\"displayName\":\"LINE taro\",\"userId\":\"" + userId + "\","
+                                 + "\"pictureUrl\":\"https://example.com/abcdefghijklmn\","
+                                 + "\"statusMessage\":\"Hello, LINE!\"}");
+            }
+            return json(200, "{}");
+        }
+
+        private MockResponse error(final int code, final String message) {
+            return json(code, "{\"message\":\"" + message + "\"}");
+        }
+
+        private MockResponse json(final int code, final String body) {
+            return new MockResponse()
+                    .setResponseCode(code)
+                    .setHeader("Content-Type", "application/json; charset=UTF-8")
+                    .setBody(body);
+        }
+    }
+}
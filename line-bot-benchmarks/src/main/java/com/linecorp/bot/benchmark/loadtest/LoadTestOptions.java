@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.benchmark.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Options of {@link WebhookLoadGenerator}, given by {@code --name=value} command line arguments.
+ */
+@Getter
+@ToString
+public final class LoadTestOptions {
+    /** URL of the webhook endpoint of the bot under test. */
+    private String target = "http://localhost:8080/callback";
+
+    /** Channel secret configured to the bot under test. Used to sign webhook requests. */
+    private String channelSecret = "SECRET";
+
+    /** Number of webhook requests per second. */
+    private double rate = 50;
+
+    /** Duration of the load in seconds. */
+    private long durationSeconds = 30;
+
+    /** Number of message events contained in each webhook request. */
+    private int eventsPerRequest = 5;
+
+    /** Number of distinct users who send messages. */
+    private int users = 1_000;
+
+    /** Maximum number of in-flight webhook requests. */
+    private int maxConcurrency = 256;
+
+    /** Port of the LINE API stand-in. */
+    private int standInPort = 18080;
+
+    /** Base latency of LINE API stand-in in milliseconds. */
+    private long apiLatencyMillis = 20;
+
+    /** Random jitter added to {@link #apiLatencyMillis} in milliseconds. */
+    private long apiLatencyJitterMillis = 10;
+
+    /** Ratio of LINE API calls answered with {@code 429 Too Many Requests}. (0.0 - 1.0) */
+    private double tooManyRequestsRatio = 0.0;
+
+    /** Ratio of LINE API calls answered with {@code 500 Internal Server Error}. (0.0 - 1.0) */
+    private double serverErrorRatio = 0.0;
+
+    private LoadTestOptions() {
+    }
+
+    /**
+     * Parse command line arguments like {@code --rate=100 --durationSeconds=60}.
+     *
+     * @throws IllegalArgumentException unknown or malformed argument is given.
+     */
+    public static LoadTestOptions parse(final String... args) {
+        final Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Argument should be --name=value. But " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        final LoadTestOptions options = new LoadTestOptions();
+        values.forEach(options::set);
+        return options;
+    }
+
+    private void set(final String name, final String value) {
+        switch (name) {
+            case "target":
+                target = value;
+                break;
+            case "channelSecret":
+                channelSecret = value;
+                break;
+            case "rate":
+                rate = Double.parseDouble(value);
+                break;
+            case "durationSeconds":
+                durationSeconds = Long.parseLong(value);
+                break;
+            case "eventsPerRequest":
+                eventsPerRequest = Integer.parseInt(value);
+                break;
+            case "users":
+                users = Integer.parseInt(value);
+                break;
+            case "maxConcurrency":
+                maxConcurrency = Integer.parseInt(value);
+                break;
+            case "standInPort":
+                standInPort = Integer.parseInt(value);
+                break;
+            case "apiLatencyMillis":
+                apiLatencyMillis = Long.parseLong(value);
+                break;
+            case "apiLatencyJitterMillis":
+                apiLatencyJitterMillis = Long.parseLong(value);
+                break;
+            case "tooManyRequestsRatio":
+                tooManyRequestsRatio = Double.parseDouble(value);
+                break;
+            case "serverErrorRatio":
+                serverErrorRatio = Double.parseDouble(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: --" + name);
+        }
+    }
+}
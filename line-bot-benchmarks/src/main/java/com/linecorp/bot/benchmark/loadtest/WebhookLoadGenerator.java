@@ -0,0 +1,245 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.benchmark.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.linecorp.bot.client.LineSignatureValidator;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Load generator which fires signed webhook requests to a bot at a fixed rate.
+ *
+ * <p>It also starts {@link LineApiStandIn} so the bot under test can be pointed at it
+ * instead of {@code api.line.me}.
+ *
+ * <pre>
+ * # Start the bot
+ * java -jar bot.jar --line.bot.api-end-point=http://localhost:18080/ --line.bot.channel-secret=SECRET ...
+ *
+ * # Fire the load
+ * ./gradlew :line-bot-benchmarks:loadTest -Pargs="--rate=200 --durationSeconds=60 --serverErrorRatio=0.01"
+ * </pre>
+ *
+ * <p>Latencies are measured from the time when each request was scheduled to be sent,
+ * so the result is not hidden by a stalled sender. (a.k.a. coordinated omission)
+ *
+ * @see LoadTestOptions
+ */
+public class WebhookLoadGenerator {
+    private static final MediaType JSON = MediaType.parse("application/json; charset=UTF-8");
+    private static final String[] TEXTS = { "Hello, world", "profile", "confirm", "carousel", "buttons" };
+
+    private final LoadTestOptions options;
+    private final LineSignatureValidator lineSignatureValidator;
+    private final OkHttpClient okHttpClient;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder ioErrors = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public WebhookLoadGenerator(final LoadTestOptions options) {
+        this.options = options;
+        this.lineSignatureValidator =
+                new LineSignatureValidator(options.getChannelSecret().getBytes(StandardCharsets.US_ASCII));
+
+        final okhttp3.Dispatcher dispatcher = new okhttp3.Dispatcher();
+        dispatcher.setMaxRequests(options.getMaxConcurrency());
+        dispatcher.setMaxRequestsPerHost(options.getMaxConcurrency());
+        this.okHttpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .build();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.println("Options: " + options);
+
+        try (LineApiStandIn lineApiStandIn = new LineApiStandIn(options)) {
+            lineApiStandIn.start();
+            System.out.println("LINE API stand-in is listening. Configure the bot with "
+                               + "line.bot.api-end-point=" + lineApiStandIn.getApiEndPoint());
+
+            final WebhookLoadGenerator generator = new WebhookLoadGenerator(options);
+            final double elapsedSeconds = generator.run();
+
+            generator.printReport(elapsedSeconds);
+            printStandInReport(lineApiStandIn);
+        }
+    }
+
+    /**
+     * Fire webhook requests and wait for all responses.
+     *
+     * @return elapsed seconds.
+     */
+    public double run() throws InterruptedException {
+        final long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.getRate());
+        final long total = (long) (options.getRate() * options.getDurationSeconds());
+        final Phaser inFlight = new Phaser(1);
+
+        final long startedAt = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            final long scheduledAt = startedAt + i * periodNanos;
+            final long wait = scheduledAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            if (inFlight.getUnarrivedParties() > options.getMaxConcurrency()) {
+                // The bot can't keep up with the rate. Don't queue up unbounded requests.
+                skipped.increment();
+                continue;
+            }
+
+            inFlight.register();
+            okHttpClient.newCall(createRequest()).enqueue(new RecordingCallback(scheduledAt, inFlight));
+        }
+
+        try {
+            inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), 60, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            System.out.println("Timed out waiting for in-flight webhook requests.");
+        }
+        final double elapsedSeconds = (System.nanoTime() - startedAt) / (double) TimeUnit.SECONDS.toNanos(1);
+
+        okHttpClient.dispatcher().executorService().shutdown();
+        okHttpClient.connectionPool().evictAll();
+        return elapsedSeconds;
+    }
+
+    Request createRequest() {
+        final byte[] payload = createPayload().getBytes(StandardCharsets.UTF_8);
+        final String signature =
+                Base64.getEncoder().encodeToString(lineSignatureValidator.generateSignature(payload));
+
+        return new Request.Builder()
+                .url(options.getTarget())
+                .header("X-Line-Signature", signature)
+                .post(RequestBody.create(JSON, payload))
+                .build();
+    }
+
+    String createPayload() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long timestamp = System.currentTimeMillis();
+        final StringBuilder sb = new StringBuilder(256 * options.getEventsPerRequest());
+
+        sb.append("{\"events\":[");
+        for (int i = 0; i < options.getEventsPerRequest(); i++) {
+            final long id = sequence.incrementAndGet();
+            final String userId = String.format("U%032x", random.nextInt(options.getUsers()));
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"replyToken\":\"").append(String.format("%032x", id)).append('"')
+              .append(",\"type\":\"message\"")
+              .append(",\"timestamp\":").append(timestamp)
+              .append(",\"source\":");
+            if (random.nextInt(4) == 0) {
+                sb.append("{\"type\":\"group\",\"groupId\":\"")
+                  .append(String.format("C%032x", random.nextInt(options.getUsers() / 10 + 1)))
+                  .append("\",\"userId\":\"").append(userId).append("\"}");
+            } else {
+                sb.append("{\"type\":\"user\",\"userId\":\"").append(userId).append("\"}");
+            }
+            sb.append(",\"message\":{\"id\":\"").append(id)
+              .append("\",\"type\":\"text\",\"text\":\"")
+              .append(TEXTS[random.nextInt(TEXTS.length)]).append("\"}}");
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    void printReport(final double elapsedSeconds) {
+        final Map<Integer, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+
+        System.out.println("=== Webhook");
+        System.out.printf("requests: %d in %.1f sec (%.1f req/sec)%n",
+                          latencyRecorder.count(), elapsedSeconds, latencyRecorder.count() / elapsedSeconds);
+        System.out.printf("latency(ms): p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                          latencyRecorder.percentileMillis(50),
+                          latencyRecorder.percentileMillis(90),
+                          latencyRecorder.percentileMillis(99),
+                          latencyRecorder.percentileMillis(99.9),
+                          latencyRecorder.maxMillis());
+        System.out.println("status: " + statuses);
+        System.out.println("I/O errors: " + ioErrors.sum());
+        System.out.println("skipped (too many in-flight requests): " + skipped.sum());
+    }
+
+    static void printStandInReport(final LineApiStandIn lineApiStandIn) {
+        final double elapsedSeconds = lineApiStandIn.getElapsedSeconds();
+
+        System.out.println("=== LINE API stand-in");
+        lineApiStandIn.getCallsByEndpoint().forEach(
+                (endpoint, count) -> System.out.printf("%s: %d calls (%.1f calls/sec)%n",
+                                                       endpoint, count, count / elapsedSeconds));
+        System.out.println("injected 429: " + lineApiStandIn.getTooManyRequests());
+        System.out.println("injected 500: " + lineApiStandIn.getServerErrors());
+    }
+
+    private class RecordingCallback implements Callback {
+        private final long scheduledAt;
+        private final Phaser inFlight;
+
+        RecordingCallback(final long scheduledAt, final Phaser inFlight) {
+            this.scheduledAt = scheduledAt;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public void onResponse(final Call call, final Response response) {
+            try {
+                response.close();
+                latencyRecorder.record(System.nanoTime() - scheduledAt);
+                statusCounts.computeIfAbsent(response.code(), key -> new LongAdder()).increment();
+            } finally {
+                inFlight.arriveAndDeregister();
+            }
+        }
+
+        @Override
+        public void onFailure(final Call call, final IOException e) {
+            ioErrors.increment();
+            inFlight.arriveAndDeregister();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.client;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import okhttp3.Connection;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Benchmark for {@link HeaderInterceptor}, which runs for every API call.
+ *
+ * <p>{@code perRequestConcatenation} is the former implementation, building the {@code Authorization}
+ * value for every request. Run with {@code -Pjmh.profilers=gc} to compare allocation rates.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeaderInterceptorBenchmark {
+    private static final String USER_AGENT = "line-botsdk-java/benchmark";
+
+    private ChannelTokenSupplier channelTokenSupplier;
+    private HeaderInterceptor headerInterceptor;
+    private RecordingChain chain;
+
+    @Setup
+    public void setUp() {
+        // Same length as real channel access tokens.
+        channelTokenSupplier = FixedChannelTokenSupplier.of(new String(new char[172]).replace('\0', 'x'));
+        headerInterceptor = HeaderInterceptor.forChannelTokenSupplier(channelTokenSupplier);
+        chain = new RecordingChain(new Request.Builder()
+                                           .url("https://api.line.me/v2/bot/message/push")
+                                           .build());
+    }
+
+    @Benchmark
+    public Request perRequestConcatenation() throws IOException {
+        final String channelToken = channelTokenSupplier.get();
+        final Request request = chain.request().newBuilder()
+                                     .addHeader("Authorization", "Bearer " + channelToken)
+                                     .addHeader("User-Agent", USER_AGENT)
+                                     .build();
+        chain.proceed(request);
+        return chain.lastRequest;
+    }
+
+    @Benchmark
+    public Request cachedAuthorization() throws IOException {
+        headerInterceptor.intercept(chain);
+        return chain.lastRequest;
+    }
+
+    private static final class RecordingChain implements Interceptor.Chain {
+        private final Request request;
+        private final Response response;
+        Request lastRequest;
+
+        RecordingChain(final Request request) {
+            this.request = request;
+            response = new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .build();
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public Response proceed(final Request request) throws IOException {
+            lastRequest = request;
+            return response;
+        }
+
+        @Override
+        public Connection connection() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.MessageEvent;
+import com.linecorp.bot.model.event.message.TextMessageContent;
+import com.linecorp.bot.model.event.source.UserSource;
+
+/**
+ * Benchmark for {@link ConcurrentEventDispatchStrategy} with slow, blocking handlers.
+ *
+ * <p>Each operation dispatches {@code EVENTS} events whose handler sleeps {@code HANDLER_LATENCY_MILLIS},
+ * like a handler calling an external API or a database, and waits until all of them are handled.
+ * Dispatching them synchronously would take {@code EVENTS * HANDLER_LATENCY_MILLIS} per operation.</p>
+ *
+ * <p>{@code create} uses virtual threads on Java 21+; run the benchmark on such a JVM to compare them
+ * with {@code boundedPool}. On older JVMs both run on platform threads.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventDispatchStrategyBenchmark {
+    private static final int EVENTS = 5_000;
+    private static final long HANDLER_LATENCY_MILLIS = 10;
+    private static final Event EVENT =
+            new MessageEvent<>("replyToken", new UserSource("userId"),
+                               new TextMessageContent("id", "text"), null);
+
+    @Param({ "boundedPool", "create" })
+    public String strategy;
+
+    @Param({ "200", "5000" })
+    public int maxConcurrency;
+
+    private ConcurrentEventDispatchStrategy dispatchStrategy;
+
+    @Setup
+    public void setUp() {
+        dispatchStrategy = "create".equals(strategy)
+                           ? ConcurrentEventDispatchStrategy.create(maxConcurrency)
+                           : ConcurrentEventDispatchStrategy.boundedPool(maxConcurrency);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatchStrategy.close();
+    }
+
+    @Benchmark
+    public void dispatchSlowHandlers() throws InterruptedException {
+        final CountDownLatch handled = new CountDownLatch(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            dispatchStrategy.execute(EVENT, () -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(HANDLER_LATENCY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                handled.countDown();
+            });
+        }
+        handled.await();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.StaticApplicationContext;
+
+import com.linecorp.bot.benchmark.Fixtures;
+import com.linecorp.bot.client.LineMessagingClient;
+import com.linecorp.bot.client.LineSignatureValidator;
+import com.linecorp.bot.client.MessageContentResponse;
+import com.linecorp.bot.model.Multicast;
+import com.linecorp.bot.model.PushMessage;
+import com.linecorp.bot.model.ReplyMessage;
+import com.linecorp.bot.model.event.BeaconEvent;
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.MessageEvent;
+import com.linecorp.bot.model.event.PostbackEvent;
+import com.linecorp.bot.model.event.message.StickerMessageContent;
+import com.linecorp.bot.model.event.message.TextMessageContent;
+import com.linecorp.bot.model.message.Message;
+import com.linecorp.bot.model.message.StickerMessage;
+import com.linecorp.bot.model.message.TextMessage;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+import com.linecorp.bot.model.response.BotApiResponse;
+import com.linecorp.bot.servlet.LineBotCallbackRequestParser;
+import com.linecorp.bot.spring.boot.annotation.EventMapping;
+import com.linecorp.bot.spring.boot.annotation.LineMessageHandler;
+
+/**
+ * Benchmark for {@link LineMessageHandlerSupport#dispatch(Event)}.
+ *
+ * <p>Measures handler method lookup, reflective invocation and reply by return value.
+ * Outgoing API calls are answered by a stub {@link LineMessagingClient} which completes immediately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineMessageHandlerSupportBenchmark {
+    private StaticApplicationContext applicationContext;
+    private LineMessageHandlerSupport lineMessageHandlerSupport;
+    private List<Event> events;
+
+    @Setup
+    public void setUp() throws Exception {
+        applicationContext = new StaticApplicationContext();
+        applicationContext.getBeanFactory().registerSingleton("benchmarkHandler", new BenchmarkHandler());
+
+        lineMessageHandlerSupport = new LineMessageHandlerSupport(
+                new ReplyByReturnValueConsumer.Factory(new CompletedLineMessagingClient()),
+                applicationContext);
+        applicationContext.refresh();
+
+        final LineBotCallbackRequestParser parser = new LineBotCallbackRequestParser(
+                new LineSignatureValidator(Fixtures.CHANNEL_SECRET.getBytes(StandardCharsets.US_ASCII)));
+        final byte[] payload = Fixtures.load(Fixtures.MIXED);
+        events = parser.handle(Fixtures.sign(payload), new String(payload, StandardCharsets.UTF_8))
+                       .getEvents();
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public void dispatchMixedEvents() {
+        for (Event event : events) {
+            lineMessageHandlerSupport.dispatch(event);
+        }
+    }
+
+    @LineMessageHandler
+    public static class BenchmarkHandler {
+        @EventMapping
+        public Message handleTextMessageEvent(MessageEvent<TextMessageContent> event) {
+            return new TextMessage(event.getMessage().getText());
+        }
+
+        @EventMapping
+        public Message handleStickerMessageEvent(MessageEvent<StickerMessageContent> event) {
+            final StickerMessageContent sticker = event.getMessage();
+            return new StickerMessage(sticker.getPackageId(), sticker.getStickerId());
+        }
+
+        @EventMapping
+        public Message handlePostbackEvent(PostbackEvent event) {
+            return new TextMessage("Got postback " + event.getPostbackContent().getData());
+        }
+
+        @EventMapping
+        public Message handleBeaconEvent(BeaconEvent event) {
+            return new TextMessage("Got beacon message " + event.getBeacon().getHwid());
+        }
+
+        @EventMapping
+        public void handleOtherEvent(Event event) {
+        }
+    }
+
+    static class CompletedLineMessagingClient implements LineMessagingClient {
+        private static final CompletableFuture<BotApiResponse> OK =
+                CompletableFuture.completedFuture(new BotApiResponse("ok", null));
+
+        @Override
+        public CompletableFuture<BotApiResponse> replyMessage(ReplyMessage replyMessage) {
+            return OK;
+        }
+
+        @Override
+        public CompletableFuture<BotApiResponse> pushMessage(PushMessage pushMessage) {
+            return OK;
+        }
+
+        @Override
+        public CompletableFuture<BotApiResponse> multicast(Multicast multicast) {
+            return OK;
+        }
+
+        @Override
+        public CompletableFuture<MessageContentResponse> getMessageContent(String messageId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<UserProfileResponse> getProfile(String userId) {
+            return CompletableFuture.completedFuture(
+                    new UserProfileResponse("name", userId, null, null));
+        }
+
+        @Override
+        public CompletableFuture<BotApiResponse> leaveGroup(String groupId) {
+            return OK;
+        }
+
+        @Override
+        public CompletableFuture<BotApiResponse> leaveRoom(String roomId) {
+            return OK;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.model.event;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+
+/**
+ * Content of an event, either deserialized or kept as a slice of the webhook payload until first access.
+ *
+ * @see StreamingEventModule#lazyContent()
+ */
+final class LazyContent<T> {
+    private static final LazyContent<?> NULL = new LazyContent<>(null);
+
+    private volatile T value;
+    private final Class<? extends T> contentClass;
+
+    // Guarded by this. Cleared once deserialized.
+    private ObjectCodec codec;
+    private Class<T> type;
+    private byte[] payload;
+    private int offset;
+    private int length;
+
+    @SuppressWarnings("unchecked")
+    private LazyContent(final T value) {
+        this.value = value;
+        contentClass = value != null ? (Class<? extends T>) value.getClass() : null;
+    }
+
+    private LazyContent(final ObjectCodec codec, final Class<T> type, final Class<? extends T> contentClass,
+                        final byte[] payload, final int offset, final int length) {
+        this.contentClass = contentClass;
+        this.codec = codec;
+        this.type = type;
+        this.payload = payload;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> LazyContent<T> of(final T value) {
+        return value == null ? (LazyContent<T>) NULL : new LazyContent<>(value);
+    }
+
+    /**
+     * Creates content read as {@code type} on first access, which must then be a {@code contentClass}.
+     */
+    static <T> LazyContent<T> of(final ObjectCodec codec, final Class<T> type, final Class<? extends T> contentClass,
+                                 final byte[] payload, final int offset, final int length) {
+        return new LazyContent<>(codec, type, contentClass, payload, offset, length);
+    }
+
+    /**
+     * Returns the class of the content without deserializing it, or {@code null} if there's no content.
+     */
+    Class<? extends T> contentClass() {
+        return contentClass;
+    }
+
+    /**
+     * Returns the content, deserializing it on first call.
+     *
+     * @throws UncheckedIOException if the content can't be deserialized.
+     */
+    T get() {
+        final T current = value;
+        if (current != null || this == NULL) {
+            return current;
+        }
+        synchronized (this) {
+            if (value == null) {
+                value = read();
+                codec = null;
+                type = null;
+                payload = null;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Returns the content, or its JSON if not deserialized yet, so that logging an event doesn't read it.
+     */
+    @Override
+    public String toString() {
+        final T current = value;
+        if (current != null || this == NULL) {
+            return String.valueOf(current);
+        }
+        synchronized (this) {
+            return value != null ? value.toString() : new String(payload, offset, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    private T read() {
+        try (JsonParser parser = codec.getFactory().createParser(payload, offset, length)) {
+            parser.setCodec(codec);
+            parser.nextToken();
+            return codec.readValue(parser, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + type.getSimpleName(), e);
+        }
+    }
+}
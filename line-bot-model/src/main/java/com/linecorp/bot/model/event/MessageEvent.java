@@ -19,12 +19,14 @@ package com.linecorp.bot.model.event;
 import java.time.Instant;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
 import com.linecorp.bot.model.event.message.MessageContent;
 import com.linecorp.bot.model.event.source.Source;
 
+import lombok.ToString;
 import lombok.Value;
 
 /**
@@ -32,6 +34,7 @@ import lombok.Value;
  * The message field contains a message object which corresponds with the message type. You can reply to message events.
  */
 @Value
+@ToString(doNotUseGetters = true)
 @JsonTypeName("message")
 public class MessageEvent<T extends MessageContent> implements Event, ReplyEvent {
     /**
@@ -44,10 +47,7 @@ public class MessageEvent<T extends MessageContent> implements Event, ReplyEvent
      */
     private final Source source;
 
-    /**
-     * Message body
-     */
-    private final T message;
+    private final LazyContent<T> message;
 
     /**
      * Time of the event
@@ -62,7 +62,31 @@ public class MessageEvent<T extends MessageContent> implements Event, ReplyEvent
             @JsonProperty("timestamp") Instant timestamp) {
         this.replyToken = replyToken;
         this.source = source;
+        this.message = LazyContent.of(message);
+        this.timestamp = timestamp;
+    }
+
+    MessageEvent(final LazyContent<T> message, final String replyToken,
+                 final Source source, final Instant timestamp) {
+        this.replyToken = replyToken;
+        this.source = source;
         this.message = message;
         this.timestamp = timestamp;
     }
+
+    /**
+     * Message body
+     */
+    public T getMessage() {
+        return message.get();
+    }
+
+    /**
+     * Class of the message body, or {@code null} if there's none. Unlike {@link #getMessage()}, this
+     * doesn't read a body kept lazily by {@link StreamingEventModule#lazyContent()}.
+     */
+    @JsonIgnore
+    public Class<? extends MessageContent> getMessageClass() {
+        return message.contentClass();
+    }
 }
@@ -25,12 +25,14 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.linecorp.bot.model.event.postback.PostbackContent;
 import com.linecorp.bot.model.event.source.Source;
 
+import lombok.ToString;
 import lombok.Value;
 
 /**
  * Event object for when a user performs an action on a template message which initiates a postback. You can reply to postback events.
  */
 @Value
+@ToString(doNotUseGetters = true)
 @JsonTypeName("postback")
 public class PostbackEvent implements Event, ReplyEvent {
     /**
@@ -43,10 +45,7 @@ public class PostbackEvent implements Event, ReplyEvent {
      */
     private final Source source;
 
-    /**
-     * Content of the postback event.
-     */
-    private final PostbackContent postbackContent;
+    private final LazyContent<PostbackContent> postbackContent;
 
     /**
      * Time of the event
@@ -61,7 +60,22 @@ public class PostbackEvent implements Event, ReplyEvent {
             @JsonProperty("timestamp") Instant timestamp) {
         this.replyToken = replyToken;
         this.source = source;
+        this.postbackContent = LazyContent.of(postbackContent);
+        this.timestamp = timestamp;
+    }
+
+    PostbackEvent(final LazyContent<PostbackContent> postbackContent, final String replyToken,
+                  final Source source, final Instant timestamp) {
+        this.replyToken = replyToken;
+        this.source = source;
         this.postbackContent = postbackContent;
         this.timestamp = timestamp;
     }
+
+    /**
+     * Content of the postback event.
+     */
+    public PostbackContent getPostbackContent() {
+        return postbackContent.get();
+    }
 }
@@ -0,0 +1,518 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.model.event;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import com.linecorp.bot.model.event.beacon.BeaconContent;
+import com.linecorp.bot.model.event.message.AudioMessageContent;
+import com.linecorp.bot.model.event.message.FileMessageContent;
+import com.linecorp.bot.model.event.message.ImageMessageContent;
+import com.linecorp.bot.model.event.message.LocationMessageContent;
+import com.linecorp.bot.model.event.message.MessageContent;
+import com.linecorp.bot.model.event.message.StickerMessageContent;
+import com.linecorp.bot.model.event.message.TextMessageContent;
+import com.linecorp.bot.model.event.message.UnknownMessageContent;
+import com.linecorp.bot.model.event.message.VideoMessageContent;
+import com.linecorp.bot.model.event.postback.PostbackContent;
+import com.linecorp.bot.model.event.source.GroupSource;
+import com.linecorp.bot.model.event.source.RoomSource;
+import com.linecorp.bot.model.event.source.Source;
+import com.linecorp.bot.model.event.source.UnknownSource;
+import com.linecorp.bot.model.event.source.UserSource;
+
+/**
+ * Jackson module reading {@link Event}, {@link Source} and {@link MessageContent} in a single pass.
+ *
+ * <p>With annotations only, Jackson buffers each object into a {@code TokenBuffer} until it finds
+ * the {@code type} property, which dominates parse time of large webhook batches. Deserializers of this
+ * module read all properties of any subtype as they come, then construct the subtype named by {@code type}.
+ * Unknown types fall back to {@link UnknownEvent}, {@link UnknownSource} and {@link UnknownMessageContent}
+ * like with annotations.</p>
+ *
+ * <p>Timestamps are read as epoch milliseconds, like {@code JavaTimeModule} with
+ * {@code READ_DATE_TIMESTAMPS_AS_NANOSECONDS} disabled.</p>
+ *
+ * <pre>{@code
+ * objectMapper.registerModule(new StreamingEventModule());
+ * }</pre>
+ *
+ * @see #lazyContent()
+ */
+public class StreamingEventModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Deserialization attribute holding the {@code byte[]} being parsed, for {@link #lazyContent()}.
+     *
+     * <pre>{@code
+     * objectReader.withAttribute(StreamingEventModule.PAYLOAD, payload).readValue(payload);
+     * }</pre>
+     */
+    public static final String PAYLOAD = StreamingEventModule.class.getName() + ".PAYLOAD";
+
+    public StreamingEventModule() {
+        this(false);
+    }
+
+    private StreamingEventModule(final boolean lazyContent) {
+        super(StreamingEventModule.class.getSimpleName());
+        addDeserializer(Event.class, new EventDeserializer(lazyContent));
+        addDeserializer(Source.class, new SourceDeserializer());
+        addDeserializer(MessageContent.class, new MessageContentDeserializer());
+    }
+
+    /**
+     * Creates a module reading {@code type}, {@code source}, {@code timestamp} and {@code replyToken}
+     * of events eagerly, and keeping {@code message} and {@code postback} as slices of the payload until
+     * first call of {@link MessageEvent#getMessage()} or {@link PostbackEvent#getPostbackContent()}.
+     * The {@code type} of a message is read while slicing, so {@link MessageEvent#getMessageClass()}
+     * doesn't read the message. Beacon content is small and read eagerly.
+     *
+     * <p>Content is kept lazily only if the {@link #PAYLOAD} attribute holds the array being parsed,
+     * and read eagerly otherwise. Malformed content then fails on first access with
+     * {@link java.io.UncheckedIOException}, instead of failing the whole request.</p>
+     */
+    public static StreamingEventModule lazyContent() {
+        return new StreamingEventModule(true);
+    }
+
+    /**
+     * Base of deserializers ignoring {@code @JsonTypeInfo}, as they resolve subtypes by themselves.
+     */
+    private abstract static class SinglePassDeserializer<T> extends StdDeserializer<T> {
+        private static final long serialVersionUID = 1L;
+
+        SinglePassDeserializer(final Class<T> type) {
+            super(type);
+        }
+
+        @Override
+        public T deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            if (p.getCurrentToken() == JsonToken.START_OBJECT) {
+                p.nextToken();
+            } else if (p.getCurrentToken() != JsonToken.FIELD_NAME
+                       && p.getCurrentToken() != JsonToken.END_OBJECT) {
+                @SuppressWarnings("unchecked")
+                final T value = (T) ctxt.handleUnexpectedToken(handledType(), p);
+                return value;
+            }
+            return read(p, ctxt);
+        }
+
+        @Override
+        public Object deserializeWithType(final JsonParser p, final DeserializationContext ctxt,
+                                          final TypeDeserializer typeDeserializer) throws IOException {
+            return deserialize(p, ctxt);
+        }
+
+        /**
+         * Reads properties from the first {@code FIELD_NAME} to {@code END_OBJECT}.
+         */
+        abstract T read(JsonParser p, DeserializationContext ctxt) throws IOException;
+    }
+
+    static final class EventDeserializer extends SinglePassDeserializer<Event> {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean lazyContent;
+
+        EventDeserializer(final boolean lazyContent) {
+            super(Event.class);
+            this.lazyContent = lazyContent;
+        }
+
+        @Override
+        Event read(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            String type = null;
+            String replyToken = null;
+            Instant timestamp = null;
+            Source source = null;
+            LazyContent<MessageContent> message = LazyContent.of(null);
+            LazyContent<PostbackContent> postback = LazyContent.of(null);
+            BeaconContent beacon = null;
+
+            for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                final String name = p.getCurrentName();
+                final JsonToken token = p.nextToken();
+                switch (name) {
+                    case "type":
+                        type = readString(p, ctxt);
+                        break;
+                    case "replyToken":
+                        replyToken = readString(p, ctxt);
+                        break;
+                    case "timestamp":
+                        timestamp = readInstant(p, ctxt);
+                        break;
+                    case "source":
+                        source = token == JsonToken.VALUE_NULL ? null : SourceDeserializer.INSTANCE
+                                .deserialize(p, ctxt);
+                        break;
+                    case "message":
+                        message = sliceMessage(p, ctxt);
+                        if (message == null) {
+                            message = LazyContent.of(token == JsonToken.VALUE_NULL
+                                                     ? null
+                                                     : MessageContentDeserializer.INSTANCE.deserialize(p, ctxt));
+                        }
+                        break;
+                    case "postback":
+                        postback = slice(p, ctxt, PostbackContent.class);
+                        if (postback == null) {
+                            postback = LazyContent.of(token == JsonToken.VALUE_NULL ? null : readPostback(p, ctxt));
+                        }
+                        break;
+                    case "beacon":
+                        beacon = token == JsonToken.VALUE_NULL ? null : readBeacon(p, ctxt);
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+
+            if (type == null) {
+                return new UnknownEvent(null, source, timestamp);
+            }
+            switch (type) {
+                case "message":
+                    return new MessageEvent<>(message, replyToken, source, timestamp);
+                case "follow":
+                    return new FollowEvent(replyToken, source, timestamp);
+                case "unfollow":
+                    return new UnfollowEvent(source, timestamp);
+                case "join":
+                    return new JoinEvent(replyToken, source, timestamp);
+                case "leave":
+                    return new LeaveEvent(source, timestamp);
+                case "postback":
+                    return new PostbackEvent(postback, replyToken, source, timestamp);
+                case "beacon":
+                    return new BeaconEvent(replyToken, source, timestamp, beacon);
+                default:
+                    return new UnknownEvent(type, source, timestamp);
+            }
+        }
+
+        /**
+         * Skips the object at the current token and returns it as a slice of the {@link #PAYLOAD},
+         * or returns {@code null} without consuming it if content has to be read eagerly.
+         */
+        private <T> LazyContent<T> slice(final JsonParser p, final DeserializationContext ctxt,
+                                         final Class<T> type) throws IOException {
+            final byte[] payload = payloadToSlice(p, ctxt);
+            if (payload == null) {
+                return null;
+            }
+            final long start = p.getTokenLocation().getByteOffset();
+            p.skipChildren();
+            final long end = p.getCurrentLocation().getByteOffset();
+            return LazyContent.of(p.getCodec(), type, type, payload, (int) start, (int) (end - start));
+        }
+
+        /**
+         * Like {@link #slice}, but reads the {@code type} of the message on the way, so its class is known.
+         */
+        private LazyContent<MessageContent> sliceMessage(final JsonParser p, final DeserializationContext ctxt)
+                throws IOException {
+            final byte[] payload = payloadToSlice(p, ctxt);
+            if (payload == null) {
+                return null;
+            }
+            final long start = p.getTokenLocation().getByteOffset();
+            String type = null;
+            for (p.nextToken(); p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                final String name = p.getCurrentName();
+                p.nextToken();
+                if ("type".equals(name)) {
+                    type = readString(p, ctxt);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            final long end = p.getCurrentLocation().getByteOffset();
+            return LazyContent.of(p.getCodec(), MessageContent.class, MessageContentDeserializer.contentClass(type),
+                                  payload, (int) start, (int) (end - start));
+        }
+
+        /**
+         * Returns the {@link #PAYLOAD} if the object at the current token can be kept as a slice of it.
+         */
+        private byte[] payloadToSlice(final JsonParser p, final DeserializationContext ctxt) {
+            if (!lazyContent || p.getCurrentToken() != JsonToken.START_OBJECT || p.getCodec() == null
+                || p.getTokenLocation().getByteOffset() < 0) {
+                return null;
+            }
+            final Object payload = ctxt.getAttribute(PAYLOAD);
+            return payload instanceof byte[] ? (byte[]) payload : null;
+        }
+
+        private static PostbackContent readPostback(final JsonParser p, final DeserializationContext ctxt)
+                throws IOException {
+            expectObject(p, ctxt, PostbackContent.class);
+            String data = null;
+            Object params = null;
+            for (p.nextToken(); p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                final String name = p.getCurrentName();
+                p.nextToken();
+                switch (name) {
+                    case "data":
+                        data = readString(p, ctxt);
+                        break;
+                    case "params":
+                        params = ctxt.readValue(p, Object.class);
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+            return new PostbackContent(data, params);
+        }
+
+        private static BeaconContent readBeacon(final JsonParser p, final DeserializationContext ctxt)
+                throws IOException {
+            expectObject(p, ctxt, BeaconContent.class);
+            String hwid = null;
+            String type = null;
+            String deviceMessage = null;
+            for (p.nextToken(); p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                final String name = p.getCurrentName();
+                p.nextToken();
+                switch (name) {
+                    case "hwid":
+                        hwid = readString(p, ctxt);
+                        break;
+                    case "type":
+                        type = readString(p, ctxt);
+                        break;
+                    case "dm":
+                        deviceMessage = readString(p, ctxt);
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+            return new BeaconContent(hwid, type, deviceMessage);
+        }
+    }
+
+    static final class SourceDeserializer extends SinglePassDeserializer<Source> {
+        private static final long serialVersionUID = 1L;
+        static final SourceDeserializer INSTANCE = new SourceDeserializer();
+
+        SourceDeserializer() {
+            super(Source.class);
+        }
+
+        @Override
+        Source read(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            String type = null;
+            String userId = null;
+            String groupId = null;
+            String roomId = null;
+
+            for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                final String name = p.getCurrentName();
+                p.nextToken();
+                switch (name) {
+                    case "type":
+                        type = readString(p, ctxt);
+                        break;
+                    case "userId":
+                        userId = readString(p, ctxt);
+                        break;
+                    case "groupId":
+                        groupId = readString(p, ctxt);
+                        break;
+                    case "roomId":
+                        roomId = readString(p, ctxt);
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+
+            if (type == null) {
+                return new UnknownSource();
+            }
+            switch (type) {
+                case "user":
+                    return new UserSource(userId);
+                case "group":
+                    return new GroupSource(groupId, userId);
+                case "room":
+                    return new RoomSource(userId, roomId);
+                default:
+                    return new UnknownSource();
+            }
+        }
+    }
+
+    static final class MessageContentDeserializer extends SinglePassDeserializer<MessageContent> {
+        private static final long serialVersionUID = 1L;
+        static final MessageContentDeserializer INSTANCE = new MessageContentDeserializer();
+
+        MessageContentDeserializer() {
+            super(MessageContent.class);
+        }
+
+        /**
+         * Returns the class {@link #read} creates for messages of the {@code type}.
+         */
+        static Class<? extends MessageContent> contentClass(final String type) {
+            if (type == null) {
+                return UnknownMessageContent.class;
+            }
+            switch (type) {
+                case "text":
+                    return TextMessageContent.class;
+                case "image":
+                    return ImageMessageContent.class;
+                case "location":
+                    return LocationMessageContent.class;
+                case "audio":
+                    return AudioMessageContent.class;
+                case "video":
+                    return VideoMessageContent.class;
+                case "sticker":
+                    return StickerMessageContent.class;
+                case "file":
+                    return FileMessageContent.class;
+                default:
+                    return UnknownMessageContent.class;
+            }
+        }
+
+        @Override
+        MessageContent read(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            String type = null;
+            String id = null;
+            String text = null;
+            String packageId = null;
+            String stickerId = null;
+            String title = null;
+            String address = null;
+            Double latitude = null;
+            Double longitude = null;
+            String fileName = null;
+            int fileSize = 0;
+            String url = null;
+
+            for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                final String name = p.getCurrentName();
+                final JsonToken token = p.nextToken();
+                switch (name) {
+                    case "type":
+                        type = readString(p, ctxt);
+                        break;
+                    case "id":
+                        id = readString(p, ctxt);
+                        break;
+                    case "text":
+                        text = readString(p, ctxt);
+                        break;
+                    case "packageId":
+                        packageId = readString(p, ctxt);
+                        break;
+                    case "stickerId":
+                        stickerId = readString(p, ctxt);
+                        break;
+                    case "title":
+                        title = readString(p, ctxt);
+                        break;
+                    case "address":
+                        address = readString(p, ctxt);
+                        break;
+                    case "latitude":
+                        latitude = token == JsonToken.VALUE_NULL ? null : p.getValueAsDouble();
+                        break;
+                    case "longitude":
+                        longitude = token == JsonToken.VALUE_NULL ? null : p.getValueAsDouble();
+                        break;
+                    case "fileName":
+                        fileName = readString(p, ctxt);
+                        break;
+                    case "fileSize":
+                        fileSize = p.getValueAsInt();
+                        break;
+                    case "url":
+                        url = readString(p, ctxt);
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+
+            if (type == null) {
+                return new UnknownMessageContent(id);
+            }
+            switch (type) {
+                case "text":
+                    return new TextMessageContent(id, text);
+                case "image":
+                    return new ImageMessageContent(id);
+                case "location":
+                    return new LocationMessageContent(id, title, address, latitude, longitude);
+                case "audio":
+                    return new AudioMessageContent(id);
+                case "video":
+                    return new VideoMessageContent(id, url);
+                case "sticker":
+                    return new StickerMessageContent(id, packageId, stickerId);
+                case "file":
+                    return new FileMessageContent(id, fileName, fileSize);
+                default:
+                    return new UnknownMessageContent(id);
+            }
+        }
+    }
+
+    private static String readString(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+        if (p.getCurrentToken().isScalarValue()) {
+            return p.getValueAsString();
+        }
+        return (String) ctxt.handleUnexpectedToken(String.class, p);
+    }
+
+    private static Instant readInstant(final JsonParser p, final DeserializationContext ctxt)
+            throws IOException {
+        switch (p.getCurrentToken()) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+                return Instant.ofEpochMilli(p.getLongValue());
+            default:
+                // Needs JavaTimeModule, as annotation based deserialization does.
+                return ctxt.readValue(p, Instant.class);
+        }
+    }
+
+    private static void expectObject(final JsonParser p, final DeserializationContext ctxt, final Class<?> type)
+            throws IOException {
+        if (p.getCurrentToken() != JsonToken.START_OBJECT) {
+            ctxt.handleUnexpectedToken(type, p);
+        }
+    }
+}
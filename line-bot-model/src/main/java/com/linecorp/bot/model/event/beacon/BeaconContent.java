@@ -16,11 +16,16 @@
 
 package com.linecorp.bot.model.event.beacon;
 
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import lombok.EqualsAndHashCode;
 import lombok.Value;
 
 @Value
+@EqualsAndHashCode(doNotUseGetters = true)
 public class BeaconContent {
     /**
      * Hardware ID of the beacon that was detected
@@ -48,6 +53,7 @@ public class BeaconContent {
      * <p>You can use beacon.dm with the LINE Simple Beacon specification.</p>
      *
      * @see #getDeviceMessageAsHex()
+     * @see #getDeviceMessageAsByteBuffer()
      * @see <a href="https://github.com/line/line-simple-beacon/blob/master/README.en.md#line-simple-beacon-frame">LINE Simple Beacon specification (en)</a>
      * @see <a href="https://github.com/line/line-simple-beacon/blob/master/README.ja.md#line-simple-beacon-frame">LINE Simple Beacon specification (ja)</a>
      */
@@ -58,6 +64,17 @@ public class BeaconContent {
         return deviceMessage.clone(); // Defensive copy.
     }
 
+    /**
+     * Read-only view of {@link #getDeviceMessage()}, without copying it. (Optional)
+     */
+    @JsonIgnore
+    public ByteBuffer getDeviceMessageAsByteBuffer() {
+        if (deviceMessage == null) {
+            return null;
+        }
+        return ByteBuffer.wrap(deviceMessage).asReadOnlyBuffer();
+    }
+
     /**
      * Device message of beacon that was detected in lower-case, hex String format. (Optional)
      *
@@ -16,9 +16,23 @@
 
 package com.linecorp.bot.model.event.beacon;
 
-import javax.xml.bind.DatatypeConverter;
+import java.util.Arrays;
 
 final class BeaconContentUtil {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
     private BeaconContentUtil() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
@@ -29,16 +43,38 @@ final class BeaconContentUtil {
     static byte[] parseBytesOrNull(final String deviceMessageAsHex) {
         if (deviceMessageAsHex == null) {
             return null;
-        } else {
-            return DatatypeConverter.parseHexBinary(deviceMessageAsHex);
         }
+
+        final int length = deviceMessageAsHex.length();
+        if ((length & 1) != 0) {
+            throw new IllegalArgumentException("hex string needs to be even-length: " + deviceMessageAsHex);
+        }
+        final byte[] bytes = new byte[length >> 1];
+        for (int i = 0, j = 0; i < bytes.length; i++, j += 2) {
+            bytes[i] = (byte) (hexValue(deviceMessageAsHex, j) << 4 | hexValue(deviceMessageAsHex, j + 1));
+        }
+        return bytes;
     }
 
     static String printHexBinary(final byte[] deviceMessage) {
         if (deviceMessage == null) {
             return null;
-        } else {
-            return DatatypeConverter.printHexBinary(deviceMessage).toLowerCase();
         }
+
+        final char[] chars = new char[deviceMessage.length << 1];
+        for (int i = 0, j = 0; i < deviceMessage.length; i++, j += 2) {
+            chars[j] = HEX_DIGITS[(deviceMessage[i] >> 4) & 0xf];
+            chars[j + 1] = HEX_DIGITS[deviceMessage[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private static int hexValue(final String hex, final int index) {
+        final char c = hex.charAt(index);
+        final int value = c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("illegal hex character '" + c + "' in: " + hex);
+        }
+        return value;
     }
 }
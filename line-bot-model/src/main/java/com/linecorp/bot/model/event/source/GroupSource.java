@@ -17,16 +17,25 @@
 package com.linecorp.bot.model.event.source;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.Value;
 
 @Value
+@EqualsAndHashCode(exclude = { "senderSourceId", "userSourceId" })
+@ToString(exclude = { "senderSourceId", "userSourceId" })
 @JsonTypeName("group")
 public class GroupSource implements Source {
     private final String groupId;
     private final String userId;
+    @JsonIgnore
+    private final SourceId senderSourceId;
+    @JsonIgnore
+    private final SourceId userSourceId;
 
     /**
      * Create new instance.
@@ -40,6 +49,8 @@ public class GroupSource implements Source {
     ) {
         this.groupId = groupId;
         this.userId = userId;
+        senderSourceId = SourceId.of(groupId);
+        userSourceId = SourceId.of(userId);
     }
 
     @Override
@@ -17,21 +17,32 @@
 package com.linecorp.bot.model.event.source;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.Value;
 
 @Value
+@EqualsAndHashCode(exclude = { "senderSourceId", "userSourceId" })
+@ToString(exclude = { "senderSourceId", "userSourceId" })
 @JsonTypeName("room")
 public class RoomSource implements Source {
     private final String userId;
     private final String roomId;
+    @JsonIgnore
+    private final SourceId senderSourceId;
+    @JsonIgnore
+    private final SourceId userSourceId;
 
     @JsonCreator
     public RoomSource(@JsonProperty("userId") String userId, @JsonProperty("roomId") String roomId) {
         this.userId = userId;
         this.roomId = roomId;
+        senderSourceId = SourceId.of(roomId);
+        userSourceId = SourceId.of(userId);
     }
 
     @Override
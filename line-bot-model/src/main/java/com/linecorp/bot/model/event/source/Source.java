@@ -16,6 +16,7 @@
 
 package com.linecorp.bot.model.event.source;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
@@ -39,4 +40,22 @@ public interface Source {
      * @return message/event sender id
      */
     String getSenderId();
+
+    /**
+     * Canonical form of {@link #getUserId()}, to use as a key of per-user state.
+     * {@link UserSource}, {@link GroupSource} and {@link RoomSource} compute it once, on creation.
+     */
+    @JsonIgnore
+    default SourceId getUserSourceId() {
+        return SourceId.of(getUserId());
+    }
+
+    /**
+     * Canonical form of {@link #getSenderId()}, to use as a key of per-sender state.
+     * {@link UserSource}, {@link GroupSource} and {@link RoomSource} compute it once, on creation.
+     */
+    @JsonIgnore
+    default SourceId getSenderSourceId() {
+        return SourceId.of(getSenderId());
+    }
 }
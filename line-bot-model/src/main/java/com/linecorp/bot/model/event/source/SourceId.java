@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.model.event.source;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Canonical, compact form of a user, group or room ID, for use as a key of per-user state.
+ *
+ * <p>IDs issued by LINE are a type letter followed by 32 lower-case hex digits, e.g.
+ * {@code U4af4980629...}. They're held as the letter and two {@code long}s in 40 bytes, against
+ * 80 to 112 bytes for the {@code String}, and compare without looking at characters.
+ * Other IDs are held as is. The hash code is computed once, on creation.</p>
+ *
+ * <pre>{@code
+ * Map<SourceId, Session> sessions = new ConcurrentHashMap<>();
+ * sessions.get(event.getSource().getSenderSourceId());
+ * }</pre>
+ *
+ * @see Source#getSenderSourceId()
+ * @see Source#getUserSourceId()
+ */
+public final class SourceId {
+    private static final int HEX_DIGITS = 32;
+    private static final int COMPACT_BYTES = 1 + 2 * Long.BYTES;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final char type;
+    private final long high;
+    private final long low;
+    /** Non-null only if the ID isn't in LINE's form. */
+    private final String value;
+    private final int hash;
+
+    private SourceId(final char type, final long high, final long low, final String value) {
+        this.type = type;
+        this.high = high;
+        this.low = low;
+        this.value = value;
+        hash = value != null ? value.hashCode()
+                             : 31 * type + Long.hashCode(high * 0x9E3779B97F4A7C15L ^ low);
+    }
+
+    /**
+     * Returns the canonical form of the ID, or {@code null} for {@code null}.
+     */
+    @JsonCreator
+    public static SourceId of(final String id) {
+        if (id == null) {
+            return null;
+        }
+        if (id.length() != HEX_DIGITS + 1) {
+            return new SourceId('\0', 0, 0, id);
+        }
+        long high = 0;
+        long low = 0;
+        for (int i = 1; i <= HEX_DIGITS; i++) {
+            final int digit = hexValue(id.charAt(i));
+            if (digit < 0) {
+                return new SourceId('\0', 0, 0, id);
+            }
+            if (i <= HEX_DIGITS / 2) {
+                high = high << 4 | digit;
+            } else {
+                low = low << 4 | digit;
+            }
+        }
+        return new SourceId(id.charAt(0), high, low, null);
+    }
+
+    /**
+     * Returns the ID read from bytes written by {@link #toBytes()}.
+     */
+    public static SourceId fromBytes(final byte[] bytes) {
+        if (bytes.length == COMPACT_BYTES && bytes[0] != 0) {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, 2 * Long.BYTES);
+            return new SourceId((char) bytes[0], buffer.getLong(), buffer.getLong(), null);
+        }
+        if (bytes.length == 0 || bytes[0] != 0) {
+            throw new IllegalArgumentException("not a source ID: " + bytes.length + " bytes");
+        }
+        // Through of(), so the ID gets the same form as when it was written.
+        return of(new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the ID in binary form, e.g. for a key stored outside of the heap: 17 bytes for IDs in
+     * LINE's form, and a zero byte followed by the ID in UTF-8 for others.
+     */
+    public byte[] toBytes() {
+        if (value == null && type > 0 && type < 0x80) {
+            return ByteBuffer.allocate(COMPACT_BYTES).put((byte) type).putLong(high).putLong(low).array();
+        }
+        final byte[] utf8 = toString().getBytes(StandardCharsets.UTF_8);
+        final byte[] bytes = new byte[utf8.length + 1];
+        System.arraycopy(utf8, 0, bytes, 1, utf8.length);
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SourceId)) {
+            return false;
+        }
+        final SourceId that = (SourceId) o;
+        if (hash != that.hash || type != that.type || high != that.high || low != that.low) {
+            return false;
+        }
+        return value == null ? that.value == null : value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Returns the ID as given to {@link #of(String)}.
+     */
+    @JsonValue
+    @Override
+    public String toString() {
+        if (value != null) {
+            return value;
+        }
+        final char[] chars = new char[HEX_DIGITS + 1];
+        chars[0] = type;
+        for (int i = HEX_DIGITS / 2; i > 0; i--) {
+            chars[i] = HEX[(int) (high >>> (4 * (HEX_DIGITS / 2 - i))) & 0xf];
+            chars[i + HEX_DIGITS / 2] = HEX[(int) (low >>> (4 * (HEX_DIGITS / 2 - i))) & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private static int hexValue(final char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        // Upper-case digits would not round-trip through toString().
+        return -1;
+    }
+}
@@ -17,23 +17,36 @@
 package com.linecorp.bot.model.event.source;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.Value;
 
 @Value
+@EqualsAndHashCode(exclude = "userSourceId")
+@ToString(exclude = "userSourceId")
 @JsonTypeName("user")
 public class UserSource implements Source {
     private final String userId;
+    @JsonIgnore
+    private final SourceId userSourceId;
 
     @JsonCreator
     public UserSource(@JsonProperty("userId") String userId) {
         this.userId = userId;
+        userSourceId = SourceId.of(userId);
     }
 
     @Override
     public String getSenderId() {
         return userId;
     }
+
+    @Override
+    public SourceId getSenderSourceId() {
+        return userSourceId;
+    }
 }
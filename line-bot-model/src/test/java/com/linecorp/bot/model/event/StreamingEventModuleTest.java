@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.model.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import com.linecorp.bot.model.event.message.LocationMessageContent;
+import com.linecorp.bot.model.event.message.TextMessageContent;
+import com.linecorp.bot.model.event.message.UnknownMessageContent;
+import com.linecorp.bot.model.event.source.GroupSource;
+import com.linecorp.bot.model.event.source.UnknownSource;
+
+public class StreamingEventModuleTest {
+    private static final ObjectMapper ANNOTATION_BASED = createObjectMapper();
+    private static final ObjectMapper STREAMING = createObjectMapper().registerModule(new StreamingEventModule());
+    private static final ObjectReader LAZY = createObjectMapper().registerModule(StreamingEventModule.lazyContent())
+                                                                 .readerFor(CallbackRequest.class);
+
+    @Test
+    public void sameResultAsAnnotationBasedForAllFixtures() throws Exception {
+        final File[] fixtures = callbackFixtures();
+        assertThat(fixtures).isNotEmpty();
+
+        for (File fixture : fixtures) {
+            final CallbackRequest expected = ANNOTATION_BASED.readValue(fixture, CallbackRequest.class);
+            final CallbackRequest actual = STREAMING.readValue(fixture, CallbackRequest.class);
+
+            assertThat(actual).as(fixture.getName()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void lazyContentSameResultForAllFixtures() throws Exception {
+        for (File fixture : callbackFixtures()) {
+            final byte[] payload = Files.readAllBytes(fixture.toPath());
+            final CallbackRequest expected = ANNOTATION_BASED.readValue(payload, CallbackRequest.class);
+            final CallbackRequest actual = LAZY.withAttribute(StreamingEventModule.PAYLOAD, payload)
+                                               .readValue(payload);
+
+            assertThat(actual).as(fixture.getName()).isEqualTo(expected);
+            for (Event event : actual.getEvents()) {
+                if (event instanceof MessageEvent) {
+                    final MessageEvent<?> messageEvent = (MessageEvent<?>) event;
+                    assertThat(messageEvent.getMessageClass()).as(fixture.getName())
+                                                              .isEqualTo(messageEvent.getMessage().getClass());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void lazyContentReadOnFirstAccess() throws IOException {
+        final byte[] payload = ("{\"events\":[{\"type\":\"message\",\"replyToken\":\"R\","
+                                + "\"source\":{\"type\":\"user\",\"userId\":\"U1\"},"
+                                + "\"timestamp\":1462629479859,"
+                                + "\"message\":{\"id\":\"1\",\"type\":\"text\",\"text\":[\"broken\"]}}]}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        final CallbackRequest request = LAZY.withAttribute(StreamingEventModule.PAYLOAD, payload)
+                                            .readValue(payload);
+
+        final MessageEvent<?> event = (MessageEvent<?>) request.getEvents().get(0);
+        assertThat(event.getReplyToken()).isEqualTo("R");
+        assertThat(event.getTimestamp()).isEqualTo(Instant.ofEpochMilli(1462629479859L));
+        assertThat(event.getMessageClass()).isEqualTo(TextMessageContent.class);
+        assertThatThrownBy(event::getMessage).isInstanceOf(UncheckedIOException.class);
+
+        // Without the payload attribute content is read eagerly.
+        assertThatThrownBy(() -> LAZY.readValue(payload)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void lazyMessageNeedsReadableType() throws IOException {
+        final byte[] payload = ("{\"events\":[{\"type\":\"message\",\"replyToken\":\"R\","
+                                + "\"message\":{\"id\":\"1\",\"type\":{\"broken\":true}}}]}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> LAZY.withAttribute(StreamingEventModule.PAYLOAD, payload).readValue(payload))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void toStringDoesNotReadLazyContent() throws IOException {
+        final byte[] payload = ("{\"events\":[{\"type\":\"message\",\"replyToken\":\"R\","
+                                + "\"message\":{\"id\":\"1\",\"type\":\"text\",\"text\":[\"broken\"]}},"
+                                + "{\"type\":\"message\",\"replyToken\":\"S\","
+                                + "\"message\":{\"id\":\"2\",\"type\":\"text\",\"text\":\"hello\"}}]}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        final CallbackRequest request = LAZY.withAttribute(StreamingEventModule.PAYLOAD, payload)
+                                            .readValue(payload);
+
+        final MessageEvent<?> broken = (MessageEvent<?>) request.getEvents().get(0);
+        assertThat(broken.toString()).contains("message={\"id\":\"1\",\"type\":\"text\",\"text\":[\"broken\"]}");
+        final MessageEvent<?> read = (MessageEvent<?>) request.getEvents().get(1);
+        assertThat(read.getMessage()).isEqualTo(new TextMessageContent("2", "hello"));
+        assertThat(read.toString()).contains("message=" + new TextMessageContent("2", "hello"));
+    }
+
+    @Test
+    public void typeAfterOtherProperties() throws IOException {
+        final String json = "{\"events\":[{"
+                            + "\"source\":{\"userId\":\"U1\",\"groupId\":\"G1\",\"type\":\"group\"},"
+                            + "\"message\":{\"id\":\"1\",\"latitude\":35.6,\"longitude\":139.7,"
+                            + "\"title\":\"t\",\"address\":\"a\",\"type\":\"location\"},"
+                            + "\"timestamp\":1462629479859,\"replyToken\":\"R\",\"type\":\"message\"}]}";
+
+        final CallbackRequest request = STREAMING.readValue(json, CallbackRequest.class);
+
+        assertThat(request).isEqualTo(ANNOTATION_BASED.readValue(json, CallbackRequest.class));
+        final MessageEvent<?> event = (MessageEvent<?>) request.getEvents().get(0);
+        assertThat(event.getSource()).isEqualTo(new GroupSource("G1", "U1"));
+        assertThat(event.getMessage()).isEqualTo(new LocationMessageContent("1", "t", "a", 35.6, 139.7));
+        assertThat(event.getTimestamp()).isEqualTo(Instant.ofEpochMilli(1462629479859L));
+    }
+
+    @Test
+    public void unknownTypesFallBack() throws IOException {
+        final String json = "{\"unknown\":{\"nested\":[1,2]},\"source\":{\"type\":\"planet\"},"
+                            + "\"message\":{\"id\":\"1\",\"type\":\"hologram\"},\"type\":\"message\"}";
+
+        final MessageEvent<?> event = (MessageEvent<?>) STREAMING.readValue(json, Event.class);
+
+        assertThat(event.getSource()).isInstanceOf(UnknownSource.class);
+        assertThat(event.getMessage()).isEqualTo(new UnknownMessageContent("1"));
+        assertThat(STREAMING.readValue("{\"type\":\"teleport\"}", Event.class))
+                .isEqualTo(new UnknownEvent("teleport", null, null));
+    }
+
+    private static File[] callbackFixtures() throws URISyntaxException {
+        final File directory = new File(StreamingEventModuleTest.class.getClassLoader()
+                                                                      .getResource("callback").toURI());
+        return directory.listFiles((dir, name) -> name.endsWith(".json"));
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.registerModule(new JavaTimeModule())
+                    .configure(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS, false);
+        return objectMapper;
+    }
+}
@@ -18,6 +18,8 @@ package com.linecorp.bot.model.event.beacon;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.ByteBuffer;
+
 import org.junit.Test;
 
 public class BeaconContentTest {
@@ -47,4 +49,19 @@ public class BeaconContentTest {
                 .isEqualTo((byte) 0x01)
                 .isNotEqualTo((byte) 0xcd);
     }
+
+    @Test
+    public void deviceMessageAsByteBufferIsReadOnlyTest() {
+        BeaconContent target = new BeaconContent("hwid", "enter", "01ff");
+
+        // Do
+        ByteBuffer buffer = target.getDeviceMessageAsByteBuffer();
+
+        // Verify
+        assertThat(buffer.isReadOnly()).isTrue();
+        assertThat(buffer.remaining()).isEqualTo(2);
+        assertThat(buffer.get(0)).isEqualTo((byte) 0x01);
+        assertThat(buffer.get(1)).isEqualTo((byte) 0xff);
+        assertThat(new BeaconContent("hwid", "enter", null).getDeviceMessageAsByteBuffer()).isNull();
+    }
 }
@@ -39,6 +39,30 @@ public class BeaconContentUtilTest {
         fail("Exception is not occurred");
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void parseBytesOrNullTestForInvalidCharacter() throws Exception {
+        // Do
+        BeaconContentUtil.parseBytesOrNull("0g");
+
+        fail("Exception is not occurred");
+    }
+
+    @Test
+    public void parseAndPrintRoundTripForAllBytes() throws Exception {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        // Do
+        String hex = BeaconContentUtil.printHexBinary(bytes);
+
+        // Verify
+        assertThat(hex).startsWith("000102").endsWith("fdfeff");
+        assertThat(BeaconContentUtil.parseBytesOrNull(hex)).isEqualTo(bytes);
+        assertThat(BeaconContentUtil.parseBytesOrNull(hex.toUpperCase())).isEqualTo(bytes);
+    }
+
     @Test
     public void parseBytesOrNullTestForNull() throws Exception {
         // Do
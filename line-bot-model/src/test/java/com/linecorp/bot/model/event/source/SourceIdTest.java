@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.model.event.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class SourceIdTest {
+    private static final String USER_ID = "U4af4980629a1b2c3d4e5f60718293a4b";
+
+    @Test
+    public void lineIdRoundTrips() {
+        final SourceId sourceId = SourceId.of(USER_ID);
+
+        assertThat(sourceId.toString()).isEqualTo(USER_ID);
+        assertThat(sourceId).isEqualTo(SourceId.of(new String(USER_ID)))
+                            .isNotEqualTo(SourceId.of("C4af4980629a1b2c3d4e5f60718293a4b"))
+                            .isNotEqualTo(SourceId.of("U4af4980629a1b2c3d4e5f60718293a4c"));
+        assertThat(sourceId.hashCode()).isEqualTo(SourceId.of(USER_ID).hashCode());
+    }
+
+    @Test
+    public void otherIdsAreKeptAsIs() {
+        assertThat(SourceId.of("userId").toString()).isEqualTo("userId");
+        // Upper-case hex isn't LINE's form and mustn't equal the lower-case ID.
+        final String upperCase = "U4AF4980629A1B2C3D4E5F60718293A4B";
+        assertThat(SourceId.of(upperCase).toString()).isEqualTo(upperCase);
+        assertThat(SourceId.of(upperCase)).isNotEqualTo(SourceId.of(USER_ID));
+        assertThat(SourceId.of(null)).isNull();
+    }
+
+    @Test
+    public void bytesRoundTrip() {
+        assertThat(SourceId.of(USER_ID).toBytes()).hasSize(17);
+        for (String id : new String[] { USER_ID, "userId", "U4AF4980629A1B2C3D4E5F60718293A4B", "\u3042", "" }) {
+            assertThat(SourceId.fromBytes(SourceId.of(id).toBytes())).isEqualTo(SourceId.of(id));
+        }
+    }
+
+    @Test
+    public void sourcesExposeSourceIds() throws Exception {
+        final Source source = new GroupSource("C4af4980629a1b2c3d4e5f60718293a4b", USER_ID);
+
+        assertThat(source.getSenderSourceId()).isEqualTo(SourceId.of(source.getSenderId()));
+        assertThat(source.getUserSourceId()).isEqualTo(SourceId.of(USER_ID));
+        assertThat(new UnknownSource().getSenderSourceId()).isNull();
+        // Computed once per source, and not part of its value.
+        assertThat(source.getSenderSourceId()).isSameAs(source.getSenderSourceId());
+        assertThat(new UserSource(USER_ID).getSenderSourceId()).isEqualTo(SourceId.of(USER_ID));
+        assertThat(source.toString()).doesNotContain("SourceId");
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        assertThat(objectMapper.writeValueAsString(source)).doesNotContain("SourceId");
+        assertThat(objectMapper.readValue(objectMapper.writeValueAsString(SourceId.of(USER_ID)), SourceId.class))
+                .isEqualTo(SourceId.of(USER_ID));
+    }
+}
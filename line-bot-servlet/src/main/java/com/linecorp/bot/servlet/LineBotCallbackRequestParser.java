@@ -21,11 +21,9 @@ import java.nio.charset.StandardCharsets;
 
 import javax.servlet.http.HttpServletRequest;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.google.common.io.ByteStreams;
 
+import com.linecorp.bot.client.LineBotJsonCodec;
 import com.linecorp.bot.client.LineSignatureValidator;
 import com.linecorp.bot.model.event.CallbackRequest;
 
@@ -35,7 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class LineBotCallbackRequestParser {
     private final LineSignatureValidator lineSignatureValidator;
-    private final ObjectMapper objectMapper;
+    private final LineBotJsonCodec lineBotJsonCodec;
 
     /**
      * Create new instance
@@ -44,8 +42,20 @@ public class LineBotCallbackRequestParser {
      */
     public LineBotCallbackRequestParser(
             @NonNull LineSignatureValidator lineSignatureValidator) {
+        this(lineSignatureValidator, LineBotJsonCodec.getDefault());
+    }
+
+    /**
+     * Create new instance
+     *
+     * @param lineSignatureValidator LINE messaging API's signature validator
+     * @param lineBotJsonCodec Jackson configuration to read requests with
+     */
+    public LineBotCallbackRequestParser(
+            @NonNull LineSignatureValidator lineSignatureValidator,
+            @NonNull LineBotJsonCodec lineBotJsonCodec) {
         this.lineSignatureValidator = lineSignatureValidator;
-        this.objectMapper = buildObjectMapper();
+        this.lineBotJsonCodec = lineBotJsonCodec;
     }
 
     /**
@@ -84,20 +94,10 @@ public class LineBotCallbackRequestParser {
             throw new LineBotCallbackException("Invalid API signature");
         }
 
-        final CallbackRequest callbackRequest = objectMapper.readValue(json, CallbackRequest.class);
+        final CallbackRequest callbackRequest = lineBotJsonCodec.readCallbackRequest(json);
         if (callbackRequest == null || callbackRequest.getEvents() == null) {
             throw new LineBotCallbackException("Invalid content");
         }
         return callbackRequest;
     }
-
-    private static ObjectMapper buildObjectMapper() {
-        final ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
-        // Register JSR-310(java.time.temporal.*) module and read number as millsec.
-        objectMapper.registerModule(new JavaTimeModule())
-                    .configure(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS, false);
-        return objectMapper;
-    }
 }
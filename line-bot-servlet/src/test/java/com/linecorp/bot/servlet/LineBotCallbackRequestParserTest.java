@@ -160,6 +160,20 @@ public class LineBotCallbackRequestParserTest {
         assertThat(messageEvent.getTimestamp()).isEqualTo(Instant.parse("2016-05-07T13:57:59.859Z"));
     }
     
+    @Test
+    public void malformedMessageContentFailsRequest() throws Exception {
+        final String signature = "SSSSIGNATURE";
+        final String content = "{\"events\":[{\"type\":\"message\",\"replyToken\":\"R\","
+                               + "\"source\":{\"type\":\"user\",\"userId\":\"U1\"},"
+                               + "\"message\":{\"id\":\"1\",\"type\":\"text\",\"text\":[\"broken\"]}}]}";
+
+        doReturn(true).when(lineSignatureValidator)
+                      .validateSignature(content.getBytes(StandardCharsets.UTF_8), signature);
+
+        assertThatThrownBy(() -> lineBotCallbackRequestParser.handle(signature, content))
+                .isInstanceOf(IOException.class);
+    }
+
     @Test
     public void testCallRequest2() throws Exception {
         InputStream resource = getClass().getClassLoader().getResourceAsStream("callback-request.json");
@@ -17,27 +17,51 @@
 package com.linecorp.bot.spring.boot;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
+import com.linecorp.bot.client.CachingChannelTokenSupplier;
 import com.linecorp.bot.client.ChannelTokenSupplier;
 import com.linecorp.bot.client.FixedChannelTokenSupplier;
+import com.linecorp.bot.client.LineBotJsonCodec;
 import com.linecorp.bot.client.LineMessagingClient;
 import com.linecorp.bot.client.LineMessagingClientImpl;
 import com.linecorp.bot.client.LineMessagingService;
 import com.linecorp.bot.client.LineMessagingServiceBuilder;
 import com.linecorp.bot.client.LineSignatureValidator;
+import com.linecorp.bot.client.ProfileCachingLineMessagingClient;
+import com.linecorp.bot.client.ReactiveLineMessagingClient;
+import com.linecorp.bot.client.ReactiveLineMessagingClientImpl;
+import com.linecorp.bot.client.WireLoggingInterceptor;
 import com.linecorp.bot.servlet.LineBotCallbackRequestParser;
+import com.linecorp.bot.spring.boot.LineBotProperties.BeaconSuppression;
+import com.linecorp.bot.spring.boot.LineBotProperties.ChannelTokenCache;
+import com.linecorp.bot.spring.boot.LineBotProperties.ChannelTokenSupplyMode;
+import com.linecorp.bot.spring.boot.LineBotProperties.Dedup;
+import com.linecorp.bot.spring.boot.LineBotProperties.Handler;
+import com.linecorp.bot.spring.boot.LineBotProperties.ProfileCache;
+import com.linecorp.bot.spring.boot.LineBotProperties.WireLogging;
 import com.linecorp.bot.spring.boot.interceptor.LineBotServerInterceptor;
+import com.linecorp.bot.spring.boot.support.BeaconEventSuppressor;
+import com.linecorp.bot.spring.boot.support.ConcurrentEventDispatchStrategy;
+import com.linecorp.bot.spring.boot.support.EventDeduplicator;
+import com.linecorp.bot.spring.boot.support.EventDispatchStrategy;
 import com.linecorp.bot.spring.boot.support.LineBotServerArgumentProcessor;
 import com.linecorp.bot.spring.boot.support.LineMessageHandlerSupport;
+import com.linecorp.bot.spring.boot.support.ProfileCacheInvalidator;
+import com.linecorp.bot.spring.boot.support.ProfilePrefetcher;
+import com.linecorp.bot.spring.boot.support.SenderOrderedEventDispatchStrategy;
 
 @Configuration
 @AutoConfigureAfter(LineBotWebMvcConfigurer.class)
@@ -47,16 +71,42 @@ public class LineBotAutoConfiguration {
     @Autowired
     private LineBotProperties lineBotProperties;
 
+    @Autowired(required = false)
+    private List<LineMessagingServiceBuilderCustomizer> lineMessagingServiceBuilderCustomizers =
+            Collections.emptyList();
+
     @Bean
     public LineMessagingService lineMessagingService(
             final ChannelTokenSupplier channelTokenSupplier) {
-        return LineMessagingServiceBuilder
-                .create(channelTokenSupplier)
+        final LineMessagingServiceBuilder builder = LineMessagingServiceBuilder
+                .create(cachingIfSupplied(channelTokenSupplier))
                 .apiEndPoint(lineBotProperties.getApiEndPoint())
                 .connectTimeout(lineBotProperties.getConnectTimeout())
                 .readTimeout(lineBotProperties.getReadTimeout())
                 .writeTimeout(lineBotProperties.getWriteTimeout())
-                .build();
+                .wireLogging(wireLoggingInterceptor(lineBotProperties.getWireLogging()));
+        lineMessagingServiceBuilderCustomizers.forEach(customizer -> customizer.customize(builder));
+        return builder.build();
+    }
+
+    private ChannelTokenSupplier cachingIfSupplied(final ChannelTokenSupplier channelTokenSupplier) {
+        final ChannelTokenCache cache = lineBotProperties.getChannelTokenCache();
+        if (lineBotProperties.getChannelTokenSupplyMode() != ChannelTokenSupplyMode.SUPPLIER
+            || !cache.isEnabled()) {
+            return channelTokenSupplier;
+        }
+        return CachingChannelTokenSupplier.of(channelTokenSupplier, cache.getTtl(), cache.getRefreshAhead());
+    }
+
+    private static WireLoggingInterceptor wireLoggingInterceptor(final WireLogging wireLogging) {
+        final WireLoggingInterceptor.Builder builder =
+                WireLoggingInterceptor.builder()
+                                      .level(wireLogging.getLevel())
+                                      .sampleRate(wireLogging.getSampleRate())
+                                      .maxHeaderBytes(wireLogging.getMaxHeaderBytes())
+                                      .maxBodyBytes(wireLogging.getMaxBodyBytes());
+        wireLogging.getEndpointLevels().forEach(builder::endpointLevel);
+        return builder.build();
     }
 
     @Bean
@@ -67,10 +117,72 @@ public class LineBotAutoConfiguration {
     }
 
     @Bean
+    @ConditionalOnProperty(name = "line.bot.profile-cache.enabled", havingValue = "false", matchIfMissing = true)
     public LineMessagingClient lineMessagingClient(final LineMessagingService lineMessagingService) {
         return new LineMessagingClientImpl(lineMessagingService);
     }
 
+    /**
+     * Registered as {@code lineMessagingClient} in place of the plain client, with its own type,
+     * so support beans don't depend on which {@link LineMessagingClient} is primary.
+     */
+    @Bean(name = "lineMessagingClient")
+    @ConditionalOnProperty(name = "line.bot.profile-cache.enabled", havingValue = "true")
+    public ProfileCachingLineMessagingClient profileCachingLineMessagingClient(
+            final LineMessagingService lineMessagingService) {
+        final ProfileCache profileCache = lineBotProperties.getProfileCache();
+        return new ProfileCachingLineMessagingClient(new LineMessagingClientImpl(lineMessagingService),
+                                                     profileCache.getTtl(), profileCache.getMaxSize());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "line.bot.profile-cache.enabled", havingValue = "true")
+    public ProfileCacheInvalidator profileCacheInvalidator(
+            final ProfileCachingLineMessagingClient profileCachingLineMessagingClient) {
+        return new ProfileCacheInvalidator(profileCachingLineMessagingClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = { "line.bot.profile-cache.enabled", "line.bot.profile-cache.prefetch" },
+            havingValue = "true")
+    public ProfilePrefetcher profilePrefetcher(
+            final ProfileCachingLineMessagingClient profileCachingLineMessagingClient) {
+        final ProfileCache profileCache = lineBotProperties.getProfileCache();
+        return new ProfilePrefetcher(profileCachingLineMessagingClient,
+                                     profileCache.getPrefetchConcurrency(), profileCache.getPrefetchTimeout());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(EventDeduplicator.class)
+    @ConditionalOnProperty(name = "line.bot.dedup.enabled", havingValue = "true")
+    public EventDeduplicator eventDeduplicator() {
+        final Dedup dedup = lineBotProperties.getDedup();
+        return new EventDeduplicator(dedup.getWindow(), dedup.getMaxEntries());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(BeaconEventSuppressor.class)
+    @ConditionalOnProperty(name = "line.bot.beacon-suppression.enabled", havingValue = "true")
+    public BeaconEventSuppressor beaconEventSuppressor() {
+        final BeaconSuppression beaconSuppression = lineBotProperties.getBeaconSuppression();
+        return new BeaconEventSuppressor(beaconSuppression.getWindow(), beaconSuppression.getMaxEntries());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(EventDispatchStrategy.class)
+    public EventDispatchStrategy eventDispatchStrategy() {
+        final Handler handler = lineBotProperties.getHandler();
+        switch (handler.getDispatch()) {
+            case CONCURRENT:
+                return ConcurrentEventDispatchStrategy.create(handler.getMaxConcurrency());
+            case PER_SENDER:
+                return SenderOrderedEventDispatchStrategy.create(handler.getMaxConcurrency(),
+                                                                 handler.getMaxQueueDepthPerSender());
+            default:
+                return EventDispatchStrategy.synchronous();
+        }
+    }
+
     @Bean
     @ConditionalOnWebApplication
     public LineBotServerArgumentProcessor lineBotServerArgumentProcessor() {
@@ -85,6 +197,7 @@ public class LineBotAutoConfiguration {
 
     @Bean
     @ConditionalOnWebApplication
+    @ConditionalOnMissingBean(LineSignatureValidator.class)
     public LineSignatureValidator lineSignatureValidator() {
         return new LineSignatureValidator(
                 lineBotProperties.getChannelSecret().getBytes(StandardCharsets.US_ASCII));
@@ -92,8 +205,22 @@ public class LineBotAutoConfiguration {
 
     @Bean
     @ConditionalOnWebApplication
+    @ConditionalOnMissingBean(LineBotCallbackRequestParser.class)
     public LineBotCallbackRequestParser lineBotCallbackRequestParser(
             LineSignatureValidator lineSignatureValidator) {
-        return new LineBotCallbackRequestParser(lineSignatureValidator);
+        final LineBotJsonCodec lineBotJsonCodec = lineBotProperties.getHandler().isStreamingParser()
+                                                  ? LineBotJsonCodec.createStreaming()
+                                                  : LineBotJsonCodec.getDefault();
+        return new LineBotCallbackRequestParser(lineSignatureValidator, lineBotJsonCodec);
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "reactor.core.publisher.Mono")
+    static class ReactiveClientConfiguration {
+        @Bean
+        public ReactiveLineMessagingClient reactiveLineMessagingClient(
+                final LineMessagingService lineMessagingService) {
+            return new ReactiveLineMessagingClientImpl(lineMessagingService);
+        }
     }
 }
@@ -17,6 +17,8 @@
 package com.linecorp.bot.spring.boot;
 
 import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -24,10 +26,19 @@ import javax.validation.constraints.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import com.linecorp.bot.client.ChannelTokenSupplier;
+import com.linecorp.bot.client.LineBotJsonCodec;
 import com.linecorp.bot.client.LineMessagingServiceBuilder;
+import com.linecorp.bot.client.ProfileCachingLineMessagingClient;
+import com.linecorp.bot.client.WireLoggingInterceptor;
+import com.linecorp.bot.client.WireLoggingInterceptor.Level;
 import com.linecorp.bot.spring.boot.BotPropertiesValidator.ValidBotProperties;
 import com.linecorp.bot.spring.boot.annotation.EventMapping;
 import com.linecorp.bot.spring.boot.annotation.LineMessageHandler;
+import com.linecorp.bot.spring.boot.support.BeaconEventSuppressor;
+import com.linecorp.bot.spring.boot.support.ConcurrentEventDispatchStrategy;
+import com.linecorp.bot.spring.boot.support.EventDeduplicator;
+import com.linecorp.bot.spring.boot.support.SenderOrderedEventDispatchStrategy;
 
 import lombok.Data;
 
@@ -45,6 +56,14 @@ public class LineBotProperties {
     @NotNull
     private ChannelTokenSupplyMode channelTokenSupplyMode = ChannelTokenSupplyMode.FIXED;
 
+    /**
+     * Caching of the channel token given by {@link ChannelTokenSupplier}
+     * if {@code channelTokenSupplyMode = SUPPLIER}.
+     */
+    @Valid
+    @NotNull
+    private ChannelTokenCache channelTokenCache = new ChannelTokenCache();
+
     /**
      * Channel acccess token.
      */
@@ -90,6 +109,42 @@ public class LineBotProperties {
     @NotNull
     private Handler handler = new Handler();
 
+    /**
+     * Dropping of events delivered again.
+     *
+     * @see EventDeduplicator
+     */
+    @Valid
+    @NotNull
+    private Dedup dedup = new Dedup();
+
+    /**
+     * Dropping of repeated beacon events.
+     *
+     * @see BeaconEventSuppressor
+     */
+    @Valid
+    @NotNull
+    private BeaconSuppression beaconSuppression = new BeaconSuppression();
+
+    /**
+     * Caching of {@code LineMessagingClient#getProfile(String)} results.
+     *
+     * @see ProfileCachingLineMessagingClient
+     */
+    @Valid
+    @NotNull
+    private ProfileCache profileCache = new ProfileCache();
+
+    /**
+     * Configuration for wire logging of LINE Messaging API calls.
+     *
+     * @see WireLoggingInterceptor
+     */
+    @Valid
+    @NotNull
+    private WireLogging wireLogging = new WireLogging();
+
     @Data
     public static class Handler {
         /**
@@ -104,6 +159,184 @@ public class LineBotProperties {
          */
         @NotNull
         URI path = URI.create("/callback");
+
+        /**
+         * How events are dispatched to handler methods.
+         *
+         * @see DispatchMode
+         */
+        @NotNull
+        DispatchMode dispatch = DispatchMode.SYNCHRONOUS;
+
+        /**
+         * Maximum number of events handled at once if {@code dispatch = CONCURRENT} or {@code PER_SENDER}.
+         */
+        int maxConcurrency = 256;
+
+        /**
+         * Maximum number of pending events per sender if {@code dispatch = PER_SENDER}.
+         * Further events of the sender are dropped.
+         */
+        int maxQueueDepthPerSender = 1_000;
+
+        /**
+         * Flag to enable/disable parsing webhook requests with {@link LineBotJsonCodec#createStreaming()}.
+         * Faster for large batches, but it skips properties it doesn't know yet.
+         *
+         * Default: {@code false}
+         */
+        boolean streamingParser;
+    }
+
+    @Data
+    public static class Dedup {
+        /**
+         * Flag to enable/disable dropping of events delivered again.
+         *
+         * Default: {@code false}
+         */
+        boolean enabled;
+
+        /**
+         * Time to remember delivered events in milliseconds.
+         */
+        long window = 300_000;
+
+        /**
+         * Maximum number of events remembered per window. Memory use is about 16 bytes per entry.
+         */
+        int maxEntries = 100_000;
+    }
+
+    @Data
+    public static class BeaconSuppression {
+        /**
+         * Flag to enable/disable passing one beacon event per user, beacon and event type per window.
+         *
+         * Default: {@code false}
+         */
+        boolean enabled;
+
+        /**
+         * Time window in milliseconds.
+         */
+        long window = 60_000;
+
+        /**
+         * Maximum number of beacon events remembered per window. Memory use is about 16 bytes per entry.
+         */
+        int maxEntries = 10_000;
+    }
+
+    @Data
+    public static class ChannelTokenCache {
+        /**
+         * Flag to enable/disable caching of supplied channel tokens. Enable it only if supplied tokens
+         * stay valid for {@code ttl}; a rotated or revoked token is sent until its cache entry expires.
+         *
+         * Default: {@code false}
+         */
+        boolean enabled;
+
+        /**
+         * Time to keep a supplied channel token in milliseconds.
+         */
+        long ttl = 600_000;
+
+        /**
+         * Time before expiry to start refreshing the channel token in background, in milliseconds.
+         */
+        long refreshAhead = 60_000;
+    }
+
+    @Data
+    public static class ProfileCache {
+        /**
+         * Flag to enable/disable caching of user profiles.
+         *
+         * Default: {@code false}
+         */
+        boolean enabled;
+
+        /**
+         * Time to keep a user profile in milliseconds.
+         */
+        long ttl = 300_000;
+
+        /**
+         * Maximum number of cached user profiles.
+         */
+        int maxSize = 10_000;
+
+        /**
+         * Flag to enable/disable fetching profiles of all users in a webhook request
+         * before events are dispatched.
+         *
+         * Default: {@code false}
+         */
+        boolean prefetch;
+
+        /**
+         * Maximum number of profile requests in flight while prefetching.
+         */
+        int prefetchConcurrency = 8;
+
+        /**
+         * Maximum time to wait for prefetching in milliseconds. Events are dispatched after this time
+         * even if some profiles are not fetched yet. The webhook request is held meanwhile.
+         */
+        long prefetchTimeout = 200;
+    }
+
+    @Data
+    public static class WireLogging {
+        /**
+         * Log level for endpoints not listed in {@code endpoint-levels}.
+         */
+        @NotNull
+        Level level = WireLoggingInterceptor.DEFAULT_LEVEL;
+
+        /**
+         * Log level per endpoint path template, e.g. {@code /v2/bot/message/push}.
+         */
+        @NotNull
+        Map<String, Level> endpointLevels = new HashMap<>();
+
+        /**
+         * Ratio of requests (0.0 - 1.0) logged with headers or bodies.
+         */
+        double sampleRate = 1.0;
+
+        /**
+         * Maximum characters of headers logged per request or response.
+         */
+        int maxHeaderBytes = WireLoggingInterceptor.DEFAULT_MAX_HEADER_BYTES;
+
+        /**
+         * Maximum bytes of body logged per request or response.
+         */
+        int maxBodyBytes = WireLoggingInterceptor.DEFAULT_MAX_BODY_BYTES;
+    }
+
+    public enum DispatchMode {
+        /**
+         * Dispatch events one by one on the webhook request thread.
+         */
+        SYNCHRONOUS,
+
+        /**
+         * Dispatch each event on a virtual thread if available, or on a bounded thread pool otherwise.
+         *
+         * @see ConcurrentEventDispatchStrategy
+         */
+        CONCURRENT,
+
+        /**
+         * Dispatch events of the same user, group or room in order, and of different ones in parallel.
+         *
+         * @see SenderOrderedEventDispatchStrategy
+         */
+        PER_SENDER,
     }
 
     enum ChannelTokenSupplyMode {
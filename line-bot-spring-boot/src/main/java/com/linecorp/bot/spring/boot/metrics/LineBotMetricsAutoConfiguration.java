@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.metrics;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.linecorp.bot.client.LineBotJsonCodec;
+import com.linecorp.bot.client.LineSignatureValidator;
+import com.linecorp.bot.client.MetricsInterceptor;
+import com.linecorp.bot.servlet.LineBotCallbackRequestParser;
+import com.linecorp.bot.spring.boot.LineBotAutoConfiguration;
+import com.linecorp.bot.spring.boot.LineBotProperties;
+import com.linecorp.bot.spring.boot.LineBotProperties.BeaconSuppression;
+import com.linecorp.bot.spring.boot.LineBotProperties.Dedup;
+import com.linecorp.bot.spring.boot.LineMessagingServiceBuilderCustomizer;
+import com.linecorp.bot.spring.boot.support.BeaconEventSuppressor;
+import com.linecorp.bot.spring.boot.support.EventDeduplicator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Publishes LINE bot SDK metrics to the application's {@link MeterRegistry}.
+ *
+ * <p>Enabled when Micrometer is on the classpath and a {@link MeterRegistry} bean exists.
+ * Set {@code line.bot.metrics.enabled=false} to opt out.</p>
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(name = "line.bot.metrics.enabled", havingValue = "true", matchIfMissing = true)
+@AutoConfigureAfter(name = "io.micrometer.spring.autoconfigure.MetricsAutoConfiguration")
+@AutoConfigureBefore(LineBotAutoConfiguration.class)
+@EnableConfigurationProperties(LineBotProperties.class)
+public class LineBotMetricsAutoConfiguration {
+    @Autowired
+    private LineBotProperties lineBotProperties;
+
+    @Bean
+    public LineMessagingServiceBuilderCustomizer lineMessagingServiceMetricsCustomizer(
+            final MeterRegistry meterRegistry) {
+        return builder -> builder.addInterceptor(MetricsInterceptor.of(meterRegistry));
+    }
+
+    @Bean
+    public MicrometerLineMessageHandlerListener micrometerLineMessageHandlerListener(
+            final MeterRegistry meterRegistry) {
+        return new MicrometerLineMessageHandlerListener(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication
+    @ConditionalOnMissingBean(LineSignatureValidator.class)
+    public LineSignatureValidator lineSignatureValidator(final MeterRegistry meterRegistry) {
+        return new MeteredLineSignatureValidator(
+                lineBotProperties.getChannelSecret().getBytes(StandardCharsets.US_ASCII), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication
+    @ConditionalOnMissingBean(LineBotCallbackRequestParser.class)
+    public LineBotCallbackRequestParser lineBotCallbackRequestParser(
+            final LineSignatureValidator lineSignatureValidator, final MeterRegistry meterRegistry) {
+        final LineBotJsonCodec lineBotJsonCodec = lineBotProperties.getHandler().isStreamingParser()
+                                                  ? LineBotJsonCodec.createStreaming()
+                                                  : LineBotJsonCodec.getDefault();
+        return new MeteredLineBotCallbackRequestParser(lineSignatureValidator, lineBotJsonCodec, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(EventDeduplicator.class)
+    @ConditionalOnProperty(name = "line.bot.dedup.enabled", havingValue = "true")
+    public EventDeduplicator eventDeduplicator(final MeterRegistry meterRegistry) {
+        final Dedup dedup = lineBotProperties.getDedup();
+        return new MeteredEventDeduplicator(dedup.getWindow(), dedup.getMaxEntries(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(BeaconEventSuppressor.class)
+    @ConditionalOnProperty(name = "line.bot.beacon-suppression.enabled", havingValue = "true")
+    public BeaconEventSuppressor beaconEventSuppressor(final MeterRegistry meterRegistry) {
+        final BeaconSuppression beaconSuppression = lineBotProperties.getBeaconSuppression();
+        return new MeteredBeaconEventSuppressor(beaconSuppression.getWindow(),
+                                                beaconSuppression.getMaxEntries(), meterRegistry);
+    }
+}
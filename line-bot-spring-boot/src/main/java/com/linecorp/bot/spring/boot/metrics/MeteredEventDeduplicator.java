@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.metrics;
+
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.spring.boot.support.EventDeduplicator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * {@link EventDeduplicator} counting dropped events.
+ */
+public class MeteredEventDeduplicator extends EventDeduplicator {
+    public static final String DUPLICATES = "line.bot.webhook.events.duplicates";
+
+    private final Counter duplicates;
+
+    public MeteredEventDeduplicator(final long windowMillis, final int maxEntries,
+                                    final MeterRegistry meterRegistry) {
+        super(windowMillis, maxEntries);
+        duplicates = meterRegistry.counter(DUPLICATES);
+    }
+
+    @Override
+    protected void onDuplicate(final Event event) {
+        duplicates.increment();
+        super.onDuplicate(event);
+    }
+}
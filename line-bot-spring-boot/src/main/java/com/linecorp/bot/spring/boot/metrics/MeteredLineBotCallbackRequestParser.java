@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.linecorp.bot.client.LineBotJsonCodec;
+import com.linecorp.bot.client.LineSignatureValidator;
+import com.linecorp.bot.model.event.CallbackRequest;
+import com.linecorp.bot.servlet.LineBotCallbackException;
+import com.linecorp.bot.servlet.LineBotCallbackRequestParser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link LineBotCallbackRequestParser} recording parse latency by outcome and the number of
+ * received events.
+ */
+public class MeteredLineBotCallbackRequestParser extends LineBotCallbackRequestParser {
+    public static final String PARSE_TIMER = "line.bot.webhook.parse";
+    public static final String EVENTS = "line.bot.webhook.events";
+
+    private final Timer success;
+    private final Timer failure;
+    private final Counter events;
+
+    public MeteredLineBotCallbackRequestParser(final LineSignatureValidator lineSignatureValidator,
+                                               final MeterRegistry meterRegistry) {
+        this(lineSignatureValidator, LineBotJsonCodec.getDefault(), meterRegistry);
+    }
+
+    public MeteredLineBotCallbackRequestParser(final LineSignatureValidator lineSignatureValidator,
+                                               final LineBotJsonCodec lineBotJsonCodec,
+                                               final MeterRegistry meterRegistry) {
+        super(lineSignatureValidator, lineBotJsonCodec);
+        success = meterRegistry.timer(PARSE_TIMER, "outcome", "success");
+        failure = meterRegistry.timer(PARSE_TIMER, "outcome", "failure");
+        events = meterRegistry.counter(EVENTS);
+    }
+
+    @Override
+    public CallbackRequest handle(final String signature, final String payload)
+            throws LineBotCallbackException, IOException {
+        final long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final CallbackRequest callbackRequest = super.handle(signature, payload);
+            events.increment(callbackRequest.getEvents().size());
+            succeeded = true;
+            return callbackRequest;
+        } finally {
+            (succeeded ? success : failure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.metrics;
+
+import com.linecorp.bot.client.LineSignatureValidator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * {@link LineSignatureValidator} counting rejected signatures.
+ */
+public class MeteredLineSignatureValidator extends LineSignatureValidator {
+    public static final String SIGNATURE_FAILURES = "line.bot.webhook.signature.failures";
+
+    private final Counter failures;
+
+    public MeteredLineSignatureValidator(final byte[] channelSecret, final MeterRegistry meterRegistry) {
+        super(channelSecret);
+        failures = meterRegistry.counter(SIGNATURE_FAILURES);
+    }
+
+    @Override
+    public boolean validateSignature(final byte[] content, final String headerSignature) {
+        final boolean valid;
+        try {
+            valid = super.validateSignature(content, headerSignature);
+        } catch (IllegalArgumentException e) {
+            // Signature is not valid Base64.
+            failures.increment();
+            throw e;
+        }
+        if (!valid) {
+            failures.increment();
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.response.BotApiResponse;
+import com.linecorp.bot.spring.boot.support.LineMessageHandlerListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link LineMessageHandlerListener} publishing handler and reply metrics to a {@link MeterRegistry}.
+ *
+ * <ul>
+ *     <li>{@value #HANDLER_TIMER} tagged with {@code handler} ({@code Class.method}) and
+ *     {@code outcome}.</li>
+ *     <li>{@value #HANDLER_ERRORS} tagged with {@code handler} and {@code exception}.</li>
+ *     <li>{@value #REPLIES} tagged with {@code outcome}.</li>
+ * </ul>
+ */
+public class MicrometerLineMessageHandlerListener implements LineMessageHandlerListener {
+    public static final String HANDLER_TIMER = "line.bot.handler.invocations";
+    public static final String HANDLER_ERRORS = "line.bot.handler.errors";
+    public static final String REPLIES = "line.bot.handler.replies";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<Method, Timer> failureTimers = new ConcurrentHashMap<>();
+    private final Counter replySuccess;
+    private final Counter replyFailure;
+
+    public MicrometerLineMessageHandlerListener(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        replySuccess = meterRegistry.counter(REPLIES, "outcome", "success");
+        replyFailure = meterRegistry.counter(REPLIES, "outcome", "failure");
+    }
+
+    @Override
+    public void onHandlerSuccess(final Method handler, final Event event, final long elapsedNanos) {
+        successTimers.computeIfAbsent(handler, method -> handlerTimer(method, "success"))
+                     .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onHandlerFailure(final Method handler, final Event event, final long elapsedNanos,
+                                 final Throwable cause) {
+        failureTimers.computeIfAbsent(handler, method -> handlerTimer(method, "failure"))
+                     .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter(HANDLER_ERRORS,
+                              "handler", handlerName(handler),
+                              "exception", cause == null ? "None" : cause.getClass().getSimpleName())
+                     .increment();
+    }
+
+    @Override
+    public void onReplySuccess(final Event event, final BotApiResponse response) {
+        replySuccess.increment();
+    }
+
+    @Override
+    public void onReplyFailure(final Event event, final Throwable cause) {
+        replyFailure.increment();
+    }
+
+    private Timer handlerTimer(final Method handler, final String outcome) {
+        return meterRegistry.timer(HANDLER_TIMER, "handler", handlerName(handler), "outcome", outcome);
+    }
+
+    private static String handlerName(final Method handler) {
+        return handler.getDeclaringClass().getSimpleName() + '.' + handler.getName();
+    }
+}
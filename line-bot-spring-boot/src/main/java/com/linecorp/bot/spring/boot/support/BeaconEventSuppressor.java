@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.util.function.LongSupplier;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import com.linecorp.bot.model.event.BeaconEvent;
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.beacon.BeaconContent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Passes the first {@link BeaconEvent} per user, beacon and beacon event type in a time window, and drops
+ * the rest, so a user staying near a beacon doesn't trigger handlers over and over. Dropped events are not
+ * aggregated or delivered later.
+ *
+ * <p>Recently passed beacon events are kept in a time wheel of {@link RecentEventIndex#BUCKETS} buckets
+ * in fixed memory; at most {@code maxEntries} per window are remembered. Other events pass as is.</p>
+ *
+ * <p>Runs after {@link EventDeduplicator}.</p>
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class BeaconEventSuppressor extends RecentEventFilter {
+    public BeaconEventSuppressor(final long windowMillis, final int maxEntries) {
+        this(windowMillis, maxEntries, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    BeaconEventSuppressor(final long windowMillis, final int maxEntries, final LongSupplier ticker) {
+        super(windowMillis, maxEntries, ticker);
+    }
+
+    /**
+     * Number of beacon events dropped so far.
+     */
+    public long getSuppressedCount() {
+        return getDroppedCount();
+    }
+
+    /**
+     * Called for each dropped beacon event.
+     */
+    protected void onSuppressed(final BeaconEvent event) {
+        log.debug("Suppressed beacon event: {}", event);
+    }
+
+    @Override
+    boolean isFiltered(final Event event) {
+        return event instanceof BeaconEvent;
+    }
+
+    @Override
+    long fingerprint(final Event event) {
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        putNullable(hasher, event.getSource() != null ? event.getSource().getUserId() : null);
+        final BeaconContent beacon = ((BeaconEvent) event).getBeacon();
+        if (beacon != null) {
+            putNullable(hasher, beacon.getHwid());
+            putNullable(hasher, beacon.getType());
+        }
+        return hasher.hash().asLong();
+    }
+
+    @Override
+    void onDropped(final Event event) {
+        onSuppressed((BeaconEvent) event);
+    }
+}
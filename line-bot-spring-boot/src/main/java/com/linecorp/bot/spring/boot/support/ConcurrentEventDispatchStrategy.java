@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.linecorp.bot.model.event.Event;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dispatches each event on its own thread, so handlers blocking on network or JDBC don't pin
+ * the request thread and the webhook is answered right away.
+ *
+ * <p>{@link #create(int)} uses a virtual thread per event when the runtime supports them (Java 21+),
+ * and a bounded pool of platform threads otherwise. In both cases at most {@code maxConcurrency}
+ * events run at once; further webhook requests wait for a free slot, which pushes back on the sender
+ * instead of queueing without limit.</p>
+ */
+@Slf4j
+public final class ConcurrentEventDispatchStrategy implements EventDispatchStrategy, AutoCloseable {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+
+    /**
+     * Whether events run on virtual threads.
+     */
+    @Getter
+    private final boolean virtualThreads;
+
+    private ConcurrentEventDispatchStrategy(final ExecutorService executorService, final int maxConcurrency,
+                                            final boolean virtualThreads) {
+        this.executorService = executorService;
+        this.permits = new Semaphore(maxConcurrency);
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Creates a strategy running events on virtual threads if available, or on a bounded pool otherwise.
+     */
+    public static ConcurrentEventDispatchStrategy create(final int maxConcurrency) {
+        checkMaxConcurrency(maxConcurrency);
+        final ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+        if (virtualThreadExecutor == null) {
+            return boundedPool(maxConcurrency);
+        }
+        return new ConcurrentEventDispatchStrategy(virtualThreadExecutor, maxConcurrency, true);
+    }
+
+    /**
+     * Creates a strategy running events on a pool of {@code maxConcurrency} platform threads.
+     */
+    public static ConcurrentEventDispatchStrategy boundedPool(final int maxConcurrency) {
+        checkMaxConcurrency(maxConcurrency);
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable,
+                                                     "line-bot-handler-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return new ConcurrentEventDispatchStrategy(pool, maxConcurrency, false);
+    }
+
+    @Override
+    public void execute(final Event event, final Runnable dispatch) {
+        permits.acquireUninterruptibly();
+        try {
+            executorService.execute(() -> {
+                try {
+                    dispatch.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Stops accepting events and waits a while for running ones to finish.
+     */
+    @Override
+    public void close() {
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Event dispatch didn't finish in {} seconds.", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void checkMaxConcurrency(final int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+    }
+
+    // Looked up reflectively to keep running on Java 8.
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                                                    .invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Virtual threads are not available. Falling back to platform threads.", e);
+            return null;
+        }
+    }
+}
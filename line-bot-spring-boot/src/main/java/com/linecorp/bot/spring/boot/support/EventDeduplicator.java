@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongSupplier;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.ReplyEvent;
+import com.linecorp.bot.model.event.source.Source;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drops events delivered again within a time window, e.g. by retries of a slow webhook response,
+ * so handlers don't run twice for them.
+ *
+ * <p>Events are identified by their reply token, or by type, source and timestamp if they don't have
+ * one; their content is never read, so lazily parsed content stays unparsed. Recently seen events are
+ * kept as 64-bit fingerprints in fixed memory; at most {@code maxEntries} events per window are
+ * remembered.</p>
+ *
+ * <p>Runs before all other {@link EventPreprocessor}s.</p>
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EventDeduplicator extends RecentEventFilter {
+    public EventDeduplicator(final long windowMillis, final int maxEntries) {
+        this(windowMillis, maxEntries, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    EventDeduplicator(final long windowMillis, final int maxEntries, final LongSupplier ticker) {
+        super(windowMillis, maxEntries, ticker);
+    }
+
+    /**
+     * Number of events dropped so far.
+     */
+    public long getDuplicateCount() {
+        return getDroppedCount();
+    }
+
+    /**
+     * Called for each dropped event.
+     */
+    protected void onDuplicate(final Event event) {
+        log.info("Dropped redelivered event: {}", event);
+    }
+
+    @Override
+    boolean isFiltered(final Event event) {
+        return true;
+    }
+
+    @Override
+    long fingerprint(final Event event) {
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        if (event instanceof ReplyEvent && ((ReplyEvent) event).getReplyToken() != null) {
+            return hasher.putString(((ReplyEvent) event).getReplyToken(), StandardCharsets.UTF_8)
+                         .hash().asLong();
+        }
+
+        hasher.putString(event.getClass().getName(), StandardCharsets.UTF_8);
+        final Source source = event.getSource();
+        if (source != null) {
+            putNullable(hasher, source.getSenderId());
+            putNullable(hasher, source.getUserId());
+        }
+        if (event.getTimestamp() != null) {
+            hasher.putLong(event.getTimestamp().toEpochMilli());
+        }
+        return hasher.hash().asLong();
+    }
+
+    @Override
+    void onDropped(final Event event) {
+        onDuplicate(event);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import com.linecorp.bot.model.event.Event;
+
+/**
+ * Decides where {@link LineMessageHandlerSupport} runs the dispatch of each webhook event.
+ *
+ * <p>By default events are dispatched one by one on the request thread, before the webhook is answered.</p>
+ *
+ * @see ConcurrentEventDispatchStrategy
+ */
+@FunctionalInterface
+public interface EventDispatchStrategy {
+    /**
+     * Runs {@code dispatch}, which invokes the handler method for {@code event}.
+     *
+     * <p>{@code dispatch} never throws; handler failures are logged inside it.</p>
+     */
+    void execute(Event event, Runnable dispatch);
+
+    /**
+     * Dispatches on the calling thread.
+     */
+    static EventDispatchStrategy synchronous() {
+        return (event, dispatch) -> dispatch.run();
+    }
+}
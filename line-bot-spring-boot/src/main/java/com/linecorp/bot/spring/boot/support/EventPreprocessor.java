@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.util.List;
+
+import org.springframework.core.Ordered;
+
+import com.linecorp.bot.model.event.Event;
+
+/**
+ * Stage applied by {@link LineMessageHandlerSupport} to the events of a webhook request
+ * before they are dispatched to handler methods.
+ *
+ * <p>Every bean implementing this interface is picked up automatically and applied in
+ * {@link Ordered} order.</p>
+ */
+@FunctionalInterface
+public interface EventPreprocessor {
+    /**
+     * Returns the events to dispatch. Implementations may return given list as is.
+     */
+    List<Event> preprocess(List<Event> events);
+}
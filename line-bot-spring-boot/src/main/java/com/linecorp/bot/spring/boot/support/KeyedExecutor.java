@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executor running tasks of the same key one by one in submission order,
+ * and tasks of different keys in parallel on the underlying executor.
+ *
+ * <p>Each key has a mailbox holding at most {@code maxQueueDepth} pending tasks; further tasks are
+ * rejected with {@link RejectedExecutionException}. A mailbox is evicted as soon as it runs empty,
+ * so idle keys hold no memory. A busy key gives its thread back to the underlying executor every
+ * {@value #BATCH_SIZE} tasks, so it can't starve the other keys.</p>
+ */
+@Slf4j
+public class KeyedExecutor<K> {
+    static final int BATCH_SIZE = 16;
+
+    private final ConcurrentMap<K, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final int maxQueueDepth;
+
+    public KeyedExecutor(@NonNull final Executor executor, final int maxQueueDepth) {
+        if (maxQueueDepth <= 0) {
+            throw new IllegalArgumentException("maxQueueDepth must be positive: " + maxQueueDepth);
+        }
+        this.executor = executor;
+        this.maxQueueDepth = maxQueueDepth;
+    }
+
+    /**
+     * Runs {@code task} after all tasks submitted before with the same {@code key}.
+     *
+     * @throws RejectedExecutionException if {@code maxQueueDepth} tasks of the key are pending.
+     */
+    public void execute(@NonNull final K key, @NonNull final Runnable task) {
+        final boolean[] newlyScheduled = new boolean[1];
+        final Mailbox target = mailboxes.compute(key, (k, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = new Mailbox(k);
+            }
+            if (mailbox.tasks.size() >= maxQueueDepth) {
+                throw new RejectedExecutionException("Too many pending tasks for key: " + k);
+            }
+            mailbox.tasks.add(task);
+            if (!mailbox.scheduled) {
+                mailbox.scheduled = true;
+                newlyScheduled[0] = true;
+            }
+            return mailbox;
+        });
+        if (newlyScheduled[0]) {
+            schedule(target);
+        }
+    }
+
+    /**
+     * Number of keys having pending or running tasks.
+     */
+    public int activeKeys() {
+        return mailboxes.size();
+    }
+
+    private void schedule(final Mailbox mailbox) {
+        try {
+            executor.execute(mailbox);
+        } catch (RejectedExecutionException e) {
+            // The underlying executor is shut down. Drop pending tasks, so the key isn't stuck forever.
+            mailboxes.remove(mailbox.key, mailbox);
+            throw e;
+        }
+    }
+
+    private final class Mailbox implements Runnable {
+        // Guarded by the mapping of the key in mailboxes.
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        final K key;
+        boolean scheduled;
+
+        Mailbox(final K key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                final Runnable task = poll();
+                if (task == null) {
+                    return;
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Task for key {} failed.", key, e);
+                }
+            }
+            // Mailbox is still scheduled. Continue after tasks of other keys.
+            schedule(this);
+        }
+
+        /**
+         * Takes the next task. Evicts this mailbox if there's none.
+         */
+        private Runnable poll() {
+            final Runnable[] next = new Runnable[1];
+            mailboxes.computeIfPresent(key, (k, mailbox) -> {
+                next[0] = mailbox.tasks.poll();
+                if (next[0] == null) {
+                    mailbox.scheduled = false;
+                    return null;
+                }
+                return mailbox;
+            });
+            return next[0];
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.lang.reflect.Method;
+
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.response.BotApiResponse;
+
+/**
+ * Callback interface notified by {@link LineMessageHandlerSupport} about handler invocations
+ * and replies sent from handler return values.
+ *
+ * <p>Every bean implementing this interface is picked up automatically.
+ * Implementations are called on the dispatching thread and should not block.</p>
+ */
+public interface LineMessageHandlerListener {
+    /**
+     * Called after a handler method returned normally.
+     */
+    default void onHandlerSuccess(Method handler, Event event, long elapsedNanos) {
+    }
+
+    /**
+     * Called after a handler method threw an exception.
+     */
+    default void onHandlerFailure(Method handler, Event event, long elapsedNanos, Throwable cause) {
+    }
+
+    /**
+     * Called when the reply built from a handler return value was accepted by the LINE server.
+     */
+    default void onReplySuccess(Event event, BotApiResponse response) {
+    }
+
+    /**
+     * Called when the reply built from a handler return value failed.
+     */
+    default void onReplyFailure(Event event, Throwable cause) {
+    }
+}
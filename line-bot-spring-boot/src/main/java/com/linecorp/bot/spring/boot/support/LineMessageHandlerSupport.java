@@ -20,7 +20,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +36,7 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -79,6 +82,9 @@ public class LineMessageHandlerSupport {
             Comparator.comparing(HandlerMethod::getPriority).reversed();
     private final ReplyByReturnValueConsumer.Factory returnValueConsumerFactory;
     private final ConfigurableApplicationContext applicationContext;
+    private List<LineMessageHandlerListener> listeners = Collections.emptyList();
+    private List<EventPreprocessor> preprocessors = Collections.emptyList();
+    private EventDispatchStrategy dispatchStrategy = EventDispatchStrategy.synchronous();
 
     volatile List<HandlerMethod> eventConsumerList;
 
@@ -96,6 +102,23 @@ public class LineMessageHandlerSupport {
         });
     }
 
+    @Autowired(required = false)
+    public void setListeners(final List<LineMessageHandlerListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Autowired(required = false)
+    public void setPreprocessors(final List<EventPreprocessor> preprocessors) {
+        final List<EventPreprocessor> sorted = new ArrayList<>(preprocessors);
+        AnnotationAwareOrderComparator.sort(sorted);
+        this.preprocessors = sorted;
+    }
+
+    @Autowired(required = false)
+    public void setDispatchStrategy(final EventDispatchStrategy dispatchStrategy) {
+        this.dispatchStrategy = dispatchStrategy;
+    }
+
     @VisibleForTesting
     void refresh() {
         final Map<String, Object> handlerBeanMap =
@@ -171,7 +194,20 @@ public class LineMessageHandlerSupport {
 
     @PostMapping("${line.bot.handler.path:/callback}")
     public void callback(@LineBotMessages List<Event> events) {
-        events.forEach(this::dispatch);
+        preprocess(events).forEach(event -> dispatchStrategy.execute(event, () -> dispatch(event)));
+    }
+
+    @VisibleForTesting
+    List<Event> preprocess(final List<Event> events) {
+        List<Event> result = events;
+        for (EventPreprocessor preprocessor : preprocessors) {
+            try {
+                result = preprocessor.preprocess(result);
+            } catch (RuntimeException e) {
+                log.error("EventPreprocessor failed. Skipped: {}", preprocessor, e);
+            }
+        }
+        return result;
     }
 
     @VisibleForTesting
@@ -192,11 +228,33 @@ public class LineMessageHandlerSupport {
                 .filter(consumer -> consumer.getSupportType().test(event))
                 .findFirst()
                 .orElseThrow(() -> new UnsupportedOperationException("Unsupported event type. " + event));
-        final Object returnValue = handlerMethod.getHandler().invoke(handlerMethod.getObject(), event);
+        final Object returnValue = invoke(handlerMethod, event);
 
         handleReturnValue(event, returnValue);
     }
 
+    private Object invoke(final HandlerMethod handlerMethod, final Event event) throws Exception {
+        final Method handler = handlerMethod.getHandler();
+        if (listeners.isEmpty()) {
+            return handler.invoke(handlerMethod.getObject(), event);
+        }
+
+        final long start = System.nanoTime();
+        final Object returnValue;
+        try {
+            returnValue = handler.invoke(handlerMethod.getObject(), event);
+        } catch (InvocationTargetException e) {
+            final long elapsedNanos = System.nanoTime() - start;
+            listeners.forEach(listener -> listener.onHandlerFailure(handler, event, elapsedNanos,
+                                                                    e.getCause()));
+            throw e;
+        }
+
+        final long elapsedNanos = System.nanoTime() - start;
+        listeners.forEach(listener -> listener.onHandlerSuccess(handler, event, elapsedNanos));
+        return returnValue;
+    }
+
     private void handleReturnValue(final Event event, final Object returnValue) {
         if (returnValue != null) {
             returnValueConsumerFactory.createForEvent(event)
@@ -233,12 +291,12 @@ public class LineMessageHandlerSupport {
             return supportEvent.isAssignableFrom(event.getClass())
                    && (messageContentType == null ||
                        event instanceof MessageEvent &&
-                       filterByType(messageContentType, ((MessageEvent<?>) event).getMessage()));
+                       filterByType(messageContentType, ((MessageEvent<?>) event).getMessageClass()));
         }
 
-        private static boolean filterByType(final Class<?> clazz, final Object content) {
-
-            return clazz.isAssignableFrom(content.getClass());
+        // By class, so message content kept lazily isn't read for handlers that don't take it.
+        private static boolean filterByType(final Class<?> clazz, final Class<?> contentClass) {
+            return contentClass != null && clazz.isAssignableFrom(contentClass);
         }
 
         @Override
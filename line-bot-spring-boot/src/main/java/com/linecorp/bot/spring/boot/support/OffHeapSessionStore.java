@@ -0,0 +1,483 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import com.linecorp.bot.model.event.source.Source;
+import com.linecorp.bot.model.event.source.SourceId;
+
+import lombok.NonNull;
+
+/**
+ * Per-sender session state kept outside of the Java heap, keyed by {@link Source#getSenderSourceId()}.
+ *
+ * <p>Millions of sessions in a {@code HashMap} make every full GC walk millions of objects. This store
+ * keeps entries in direct or memory-mapped {@link ByteBuffer}s instead: fixed-size slots of an open
+ * addressing hash table, split into {@value #SEGMENTS} segments locked independently. Values are
+ * encoded by a {@link SessionCodec}, so {@link #get(SourceId)} returns a copy; changes to it are kept
+ * only when {@link #put(SourceId, Object) put} again. Keys are stored in the binary form of
+ * {@link SourceId#toBytes()}, 17 bytes for IDs issued by LINE, without building their {@code String}.</p>
+ *
+ * <p>Entries expire {@code ttlMillis} after their last {@link #put(SourceId, Object)}, or never if it's
+ * {@link Long#MAX_VALUE}. Expired entries are dropped when met, and by {@link #evictExpired()}. Memory is
+ * allocated up front for {@code maxEntries} and some headroom; {@link #put(SourceId, Object)} of a new
+ * sender fails with {@link IllegalStateException} while the store is full of unexpired entries.</p>
+ *
+ * <p>A store {@link #open(Path, SessionCodec, int, long) opened} on a file survives restarts. Expiry
+ * uses wall clock time for that reason. The file is only readable by a store of the same codec size and
+ * {@code maxEntries}.</p>
+ *
+ * <pre>{@code
+ * OffHeapSessionStore<Order> orders = OffHeapSessionStore.create(new OrderCodec(), 1_000_000,
+ *                                                                TimeUnit.MINUTES.toMillis(30));
+ * Order order = orders.get(event.getSource().getSenderSourceId());
+ * }</pre>
+ *
+ * @param <V> type of session values
+ */
+public final class OffHeapSessionStore<V> implements AutoCloseable {
+    /**
+     * Maximum length of sender IDs in the form of {@link SourceId#toBytes()}. IDs issued by LINE take
+     * 17 bytes; others take their length in UTF-8 plus one.
+     */
+    public static final int MAX_KEY_BYTES = 48;
+
+    static final int SEGMENTS = 16;
+
+    private static final int MAGIC = 0x4c425353;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 32;
+
+    private static final byte EMPTY = 0;
+    private static final byte USED = 1;
+
+    // Slot layout.
+    private static final int STATE = 0;
+    private static final int KEY_LENGTH = 1;
+    private static final int HASH = 2;
+    private static final int EXPIRES_AT = 6;
+    private static final int KEY = 14;
+    private static final int VALUE = KEY + MAX_KEY_BYTES;
+
+    private final SessionCodec<V> codec;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final int valueSize;
+    private final int slotSize;
+    private final int slotsPerSegment;
+    private final int maxEntriesPerSegment;
+    private final FileChannel channel;
+    private final Segment[] segments;
+
+    private OffHeapSessionStore(final SessionCodec<V> codec, final int maxEntries, final long ttlMillis,
+                                final Path file, final LongSupplier clock) throws IOException {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive: " + ttlMillis);
+        }
+        if (codec.size() <= 0) {
+            throw new IllegalArgumentException("codec size must be positive: " + codec.size());
+        }
+        this.codec = codec;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        valueSize = codec.size();
+        slotSize = VALUE + valueSize;
+        // Senders don't spread evenly over segments; leave headroom so maxEntries fit.
+        final int evenShare = (maxEntries + SEGMENTS - 1) / SEGMENTS;
+        maxEntriesPerSegment = evenShare + evenShare / 8 + 16;
+        // Keep load factor at 0.75 or lower, so probe sequences stay short.
+        slotsPerSegment = Integer.highestOneBit(maxEntriesPerSegment * 4 / 3 + 1) << 1;
+        final long segmentBytes = (long) slotsPerSegment * slotSize;
+        if (segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxEntries is too large: " + maxEntries);
+        }
+
+        segments = newSegmentArray();
+        if (file == null) {
+            channel = null;
+            for (int i = 0; i < SEGMENTS; i++) {
+                segments[i] = new Segment(ByteBuffer.allocateDirect((int) segmentBytes));
+            }
+            return;
+        }
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE);
+        try {
+            final boolean created = channel.size() == 0;
+            final MappedByteBuffer header = channel.map(MapMode.READ_WRITE, 0, HEADER_BYTES);
+            if (created) {
+                header.putInt(MAGIC).putInt(VERSION).putInt(slotSize).putInt(slotsPerSegment).putInt(SEGMENTS);
+            } else if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != slotSize
+                       || header.getInt() != slotsPerSegment || header.getInt() != SEGMENTS) {
+                throw new IllegalStateException(file + " isn't a session store of the same settings");
+            }
+            for (int i = 0; i < SEGMENTS; i++) {
+                segments[i] = new Segment(channel.map(MapMode.READ_WRITE, HEADER_BYTES + i * segmentBytes,
+                                                      segmentBytes));
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a store in direct memory, lost when the process exits.
+     */
+    public static <V> OffHeapSessionStore<V> create(@NonNull final SessionCodec<V> codec, final int maxEntries,
+                                                    final long ttlMillis) {
+        try {
+            return new OffHeapSessionStore<>(codec, maxEntries, ttlMillis, null, System::currentTimeMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens a store memory-mapped on {@code file}, creating the file if it doesn't exist.
+     * Sessions written before are kept if the file was created with the same codec size and
+     * {@code maxEntries}.
+     *
+     * @throws IllegalStateException if the file was created with other settings.
+     */
+    public static <V> OffHeapSessionStore<V> open(@NonNull final Path file, @NonNull final SessionCodec<V> codec,
+                                                  final int maxEntries, final long ttlMillis)
+            throws IOException {
+        return new OffHeapSessionStore<>(codec, maxEntries, ttlMillis, file, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    static <V> OffHeapSessionStore<V> open(final Path file, final SessionCodec<V> codec, final int maxEntries,
+                                           final long ttlMillis, final LongSupplier clock) throws IOException {
+        return new OffHeapSessionStore<>(codec, maxEntries, ttlMillis, file, clock);
+    }
+
+    /**
+     * Returns the session of the sender, or {@code null} if there's none or it has expired.
+     */
+    public V get(@NonNull final SourceId senderId) {
+        final byte[] key = encodeKey(senderId);
+        final int hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Stores the session of the sender, which expires {@code ttlMillis} from now.
+     *
+     * @throws IllegalStateException if the store is full.
+     */
+    public void put(@NonNull final SourceId senderId, @NonNull final V value) {
+        final byte[] key = encodeKey(senderId);
+        final int hash = hash(key);
+        segmentFor(hash).put(key, hash, value);
+    }
+
+    /**
+     * Removes the session of the sender.
+     *
+     * @return {@code true} if an unexpired session was removed.
+     */
+    public boolean remove(@NonNull final SourceId senderId) {
+        final byte[] key = encodeKey(senderId);
+        final int hash = hash(key);
+        return segmentFor(hash).remove(key, hash);
+    }
+
+    /**
+     * Number of stored sessions, including expired ones not dropped yet.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Calls {@code action} with each unexpired session, segment by segment. Sessions stored or removed
+     * meanwhile may or may not be seen.
+     */
+    public void forEach(@NonNull final BiConsumer<SourceId, ? super V> action) {
+        for (Segment segment : segments) {
+            for (Entry<SourceId, V> entry : segment.entries()) {
+                action.accept(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Drops all expired sessions.
+     */
+    public void evictExpired() {
+        for (Segment segment : segments) {
+            segment.evictExpired();
+        }
+    }
+
+    /**
+     * Writes a memory-mapped store to its file. The store must not be used afterwards.
+     * Direct memory is released when the store is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        for (Segment segment : segments) {
+            segment.force();
+        }
+        channel.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Segment[] newSegmentArray() {
+        // Segment is an inner class of a generic class; arrays of it can only be created raw.
+        return (Segment[]) new OffHeapSessionStore.Segment[SEGMENTS];
+    }
+
+    private Segment segmentFor(final int hash) {
+        return segments[hash >>> 28 & SEGMENTS - 1];
+    }
+
+    private static byte[] encodeKey(final SourceId senderId) {
+        final byte[] key = senderId.toBytes();
+        if (key.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("sender ID is longer than " + MAX_KEY_BYTES + " bytes: " + senderId);
+        }
+        return key;
+    }
+
+    private static int hash(final byte[] key) {
+        int h = 1;
+        for (byte b : key) {
+            h = 31 * h + b;
+        }
+        // Spread bits, as both the high bits (segment) and the low bits (slot) are used.
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ h >>> 16;
+    }
+
+    private final class Segment {
+        private final ByteBuffer buffer;
+        // View handed to the codec for reading. Guarded by this.
+        private final ByteBuffer valueView;
+        // Values are written here first, so a failing codec leaves the table untouched. Guarded by this.
+        private final ByteBuffer scratch;
+        private final int mask;
+        private int size;
+
+        Segment(final ByteBuffer buffer) {
+            this.buffer = buffer;
+            valueView = buffer.duplicate();
+            scratch = ByteBuffer.allocate(valueSize);
+            mask = slotsPerSegment - 1;
+            for (int slot = 0; slot < slotsPerSegment; slot++) {
+                if (buffer.get(offset(slot) + STATE) == USED) {
+                    size++;
+                }
+            }
+        }
+
+        synchronized V get(final byte[] key, final int hash) {
+            final int slot = find(key, hash);
+            if (slot < 0) {
+                return null;
+            }
+            if (isExpired(slot, clock.getAsLong())) {
+                delete(slot);
+                return null;
+            }
+            return codec.read(valueView(slot));
+        }
+
+        synchronized void put(final byte[] key, final int hash, final V value) {
+            scratch.clear();
+            codec.write(value, scratch);
+            scratch.flip();
+
+            int slot = find(key, hash);
+            if (slot < 0) {
+                if (size >= maxEntriesPerSegment) {
+                    evictExpired();
+                    if (size >= maxEntriesPerSegment) {
+                        throw new IllegalStateException("session store is full");
+                    }
+                }
+                slot = hash & mask;
+                while (buffer.get(offset(slot) + STATE) != EMPTY) {
+                    slot = slot + 1 & mask;
+                }
+                final int offset = offset(slot);
+                buffer.put(offset + STATE, USED);
+                buffer.put(offset + KEY_LENGTH, (byte) key.length);
+                buffer.putInt(offset + HASH, hash);
+                for (int i = 0; i < key.length; i++) {
+                    buffer.put(offset + KEY + i, key[i]);
+                }
+                size++;
+            }
+            final long now = clock.getAsLong();
+            buffer.putLong(offset(slot) + EXPIRES_AT,
+                           ttlMillis > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + ttlMillis);
+            valueView(slot).put(scratch);
+        }
+
+        synchronized boolean remove(final byte[] key, final int hash) {
+            final int slot = find(key, hash);
+            if (slot < 0) {
+                return false;
+            }
+            final boolean expired = isExpired(slot, clock.getAsLong());
+            delete(slot);
+            return !expired;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        // Copied out, so the caller's action runs without holding the lock.
+        synchronized List<Entry<SourceId, V>> entries() {
+            final long now = clock.getAsLong();
+            final List<Entry<SourceId, V>> entries = new ArrayList<>(size);
+            for (int slot = 0; slot < slotsPerSegment; slot++) {
+                final int offset = offset(slot);
+                if (buffer.get(offset + STATE) == USED && !isExpired(slot, now)) {
+                    final byte[] key = new byte[buffer.get(offset + KEY_LENGTH)];
+                    for (int i = 0; i < key.length; i++) {
+                        key[i] = buffer.get(offset + KEY + i);
+                    }
+                    entries.add(new SimpleImmutableEntry<>(SourceId.fromBytes(key),
+                                                           codec.read(valueView(slot))));
+                }
+            }
+            return entries;
+        }
+
+        synchronized void evictExpired() {
+            final long now = clock.getAsLong();
+            int slot = 0;
+            while (slot < slotsPerSegment) {
+                if (buffer.get(offset(slot) + STATE) == USED && isExpired(slot, now)) {
+                    // Another entry may be shifted into this slot; check it again.
+                    delete(slot);
+                } else {
+                    slot++;
+                }
+            }
+        }
+
+        synchronized void force() {
+            ((MappedByteBuffer) buffer).force();
+        }
+
+        private int find(final byte[] key, final int hash) {
+            for (int slot = hash & mask; ; slot = slot + 1 & mask) {
+                final int offset = offset(slot);
+                if (buffer.get(offset + STATE) == EMPTY) {
+                    return -1;
+                }
+                if (buffer.getInt(offset + HASH) == hash && keyEquals(offset, key)) {
+                    return slot;
+                }
+            }
+        }
+
+        private boolean keyEquals(final int offset, final byte[] key) {
+            if (buffer.get(offset + KEY_LENGTH) != key.length) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (buffer.get(offset + KEY + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isExpired(final int slot, final long now) {
+            return buffer.getLong(offset(slot) + EXPIRES_AT) <= now;
+        }
+
+        /**
+         * Empties the slot, shifting back following entries of the probe sequence, so lookups never
+         * stop at a hole before reaching them.
+         */
+        private void delete(int slot) {
+            int next = slot;
+            while (true) {
+                next = next + 1 & mask;
+                final int nextOffset = offset(next);
+                if (buffer.get(nextOffset + STATE) == EMPTY) {
+                    break;
+                }
+                final int home = buffer.getInt(nextOffset + HASH) & mask;
+                final boolean reachable = slot <= next ? slot < home && home <= next
+                                                       : slot < home || home <= next;
+                if (!reachable) {
+                    copySlot(next, slot);
+                    slot = next;
+                }
+            }
+            buffer.put(offset(slot) + STATE, EMPTY);
+            size--;
+        }
+
+        private void copySlot(final int from, final int to) {
+            final int fromOffset = offset(from);
+            final int toOffset = offset(to);
+            for (int i = 0; i < slotSize; i++) {
+                buffer.put(toOffset + i, buffer.get(fromOffset + i));
+            }
+        }
+
+        private ByteBuffer valueView(final int slot) {
+            final int offset = offset(slot) + VALUE;
+            valueView.limit(offset + valueSize);
+            valueView.position(offset);
+            return valueView;
+        }
+
+        private int offset(final int slot) {
+            return slot * slotSize;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.util.List;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.linecorp.bot.client.ProfileCachingLineMessagingClient;
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.UnfollowEvent;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Drops cached profiles of users who blocked the bot.
+ *
+ * <p>Runs before other {@link EventPreprocessor}s, e.g. {@link ProfilePrefetcher},
+ * except {@link EventDeduplicator}.</p>
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@AllArgsConstructor
+public class ProfileCacheInvalidator implements EventPreprocessor {
+    @NonNull
+    private final ProfileCachingLineMessagingClient profileCachingLineMessagingClient;
+
+    @Override
+    public List<Event> preprocess(final List<Event> events) {
+        for (Event event : events) {
+            if (event instanceof UnfollowEvent && event.getSource() != null
+                && event.getSource().getUserId() != null) {
+                profileCachingLineMessagingClient.invalidate(event.getSource().getUserId());
+            }
+        }
+        return events;
+    }
+}
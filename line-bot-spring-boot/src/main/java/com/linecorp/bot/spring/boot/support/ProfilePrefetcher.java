@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.linecorp.bot.client.ProfileCachingLineMessagingClient;
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.UnfollowEvent;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warms the profile cache with the users of a webhook batch before events are dispatched,
+ * so handlers of group/room conversations don't look up profiles one by one.
+ *
+ * <p>At most {@code maxConcurrency} lookups are in flight at once. Dispatch starts after all lookups
+ * completed or {@code timeoutMillis} elapsed, whichever comes first. Failed lookups are ignored;
+ * handlers will retry them. Keep {@code timeoutMillis} well under the time LINE waits for the webhook
+ * response when events are dispatched on the request thread.</p>
+ *
+ * <p>Runs after {@link EventDeduplicator}, {@link ProfileCacheInvalidator} and {@link BeaconEventSuppressor},
+ * so dropped events aren't prefetched and profiles of users who blocked the bot aren't cached again.</p>
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class ProfilePrefetcher implements EventPreprocessor {
+    private final ProfileCachingLineMessagingClient profileCachingLineMessagingClient;
+    private final int maxConcurrency;
+    private final long timeoutNanos;
+
+    public ProfilePrefetcher(@NonNull final ProfileCachingLineMessagingClient profileCachingLineMessagingClient,
+                             final int maxConcurrency, final long timeoutMillis) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.profileCachingLineMessagingClient = profileCachingLineMessagingClient;
+        this.maxConcurrency = maxConcurrency;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    @Override
+    public List<Event> preprocess(final List<Event> events) {
+        final Set<String> userIds = collectUserIds(events);
+        if (userIds.isEmpty()) {
+            return events;
+        }
+
+        final long deadline = System.nanoTime() + timeoutNanos;
+        final Semaphore permits = new Semaphore(maxConcurrency);
+        final List<CompletableFuture<?>> lookups = new ArrayList<>(userIds.size());
+        try {
+            for (String userId : userIds) {
+                if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    log.debug("Profile prefetch timed out. Prefetched {} of {} users.",
+                              lookups.size(), userIds.size());
+                    return events;
+                }
+                lookups.add(profileCachingLineMessagingClient.getProfile(userId)
+                                                             .whenComplete((profile, t) -> permits.release()));
+            }
+            CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0]))
+                             .get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            log.debug("Profile prefetch timed out. users = {}", userIds.size());
+        } catch (ExecutionException e) {
+            log.debug("Profile prefetch failed for some users.", e.getCause());
+        }
+        return events;
+    }
+
+    private static Set<String> collectUserIds(final List<Event> events) {
+        final Set<String> userIds = new LinkedHashSet<>();
+        for (Event event : events) {
+            if (event instanceof UnfollowEvent || event.getSource() == null) {
+                // Profiles of users who blocked the bot can't be retrieved.
+                continue;
+            }
+            final String userId = event.getSource().getUserId();
+            if (userId != null) {
+                userIds.add(userId);
+            }
+        }
+        return userIds;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.google.common.hash.Hasher;
+
+import com.linecorp.bot.model.event.Event;
+
+/**
+ * Base of {@link EventPreprocessor}s dropping events whose fingerprint was seen within a time window.
+ */
+abstract class RecentEventFilter implements EventPreprocessor {
+    private final RecentEventIndex recentEvents;
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    RecentEventFilter(final long windowMillis, final int maxEntries, final LongSupplier ticker) {
+        recentEvents = new RecentEventIndex(TimeUnit.MILLISECONDS.toNanos(windowMillis), maxEntries, ticker);
+    }
+
+    @Override
+    public List<Event> preprocess(final List<Event> events) {
+        List<Event> result = null;
+        for (int i = 0; i < events.size(); i++) {
+            final Event event = events.get(i);
+            if (!isFiltered(event) || recentEvents.add(fingerprint(event))) {
+                if (result != null) {
+                    result.add(event);
+                }
+                continue;
+            }
+
+            if (result == null) {
+                result = new ArrayList<>(events.subList(0, i));
+            }
+            droppedCount.incrementAndGet();
+            onDropped(event);
+        }
+        return result != null ? result : events;
+    }
+
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Whether the event is subject to this filter; other events always pass.
+     */
+    abstract boolean isFiltered(Event event);
+
+    abstract long fingerprint(Event event);
+
+    abstract void onDropped(Event event);
+
+    static void putNullable(final Hasher hasher, final String value) {
+        if (value != null) {
+            hasher.putString(value, StandardCharsets.UTF_8);
+        }
+        // Separator, so ("ab", null) and ("a", "b") differ.
+        hasher.putByte((byte) 0);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-memory set of 64-bit fingerprints remembered for a time window.
+ *
+ * <p>The window is split into {@value #BUCKETS} buckets, each an open addressing table of
+ * {@code maxEntriesPerBucket} fingerprints at most. Expired buckets are reused instead of allocating,
+ * so memory doesn't depend on load. Fingerprints are remembered for {@code windowNanos} at most and
+ * {@code windowNanos * (BUCKETS - 1) / BUCKETS} at least. When a bucket is full, further fingerprints
+ * aren't remembered until the next bucket starts.</p>
+ */
+final class RecentEventIndex {
+    static final int BUCKETS = 8;
+    private static final long EMPTY = 0;
+
+    private final LongSupplier ticker;
+    private final long bucketNanos;
+    private final int maxEntriesPerBucket;
+    private final int mask;
+    private final long[][] tables = new long[BUCKETS][];
+    private final long[] epochs = new long[BUCKETS];
+    private final int[] sizes = new int[BUCKETS];
+
+    RecentEventIndex(final long windowNanos, final int maxEntries, final LongSupplier ticker) {
+        if (windowNanos < BUCKETS) {
+            throw new IllegalArgumentException("window is too short: " + windowNanos + "ns");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.ticker = ticker;
+        bucketNanos = windowNanos / BUCKETS;
+        maxEntriesPerBucket = Math.max(1, maxEntries / BUCKETS);
+        // Keep load factor at 0.5 or lower.
+        final int capacity = Integer.highestOneBit(maxEntriesPerBucket * 2 - 1) << 1;
+        mask = capacity - 1;
+        for (int i = 0; i < BUCKETS; i++) {
+            tables[i] = new long[capacity];
+            epochs[i] = Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Remembers the fingerprint.
+     *
+     * @return {@code false} if the fingerprint was seen within the window.
+     */
+    synchronized boolean add(final long fingerprint) {
+        final long key = fingerprint == EMPTY ? 1 : fingerprint;
+        final long epoch = Math.floorDiv(ticker.getAsLong(), bucketNanos);
+        for (int i = 0; i < BUCKETS; i++) {
+            if (epochs[i] > epoch - BUCKETS && contains(tables[i], key)) {
+                return false;
+            }
+        }
+
+        final int current = (int) Math.floorMod(epoch, BUCKETS);
+        if (epochs[current] != epoch) {
+            Arrays.fill(tables[current], EMPTY);
+            sizes[current] = 0;
+            epochs[current] = epoch;
+        }
+        if (sizes[current] < maxEntriesPerBucket) {
+            insert(tables[current], key);
+            sizes[current]++;
+        }
+        return true;
+    }
+
+    private boolean contains(final long[] table, final long key) {
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            if (table[i] == key) {
+                return true;
+            }
+            if (table[i] == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    private void insert(final long[] table, final long key) {
+        int i = index(key);
+        while (table[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+    }
+
+    private int index(final long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+}
@@ -1,5 +1,6 @@
 package com.linecorp.bot.spring.boot.support;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 
 import java.util.List;
@@ -34,20 +35,28 @@ import lombok.extern.slf4j.Slf4j;
 class ReplyByReturnValueConsumer implements Consumer<Object> {
     private final LineMessagingClient lineMessagingClient;
     private final Event originalEvent;
+    private final List<LineMessageHandlerListener> listeners;
 
     @Component
     public static class Factory {
         private final LineMessagingClient lineMessagingClient;
+        private List<LineMessageHandlerListener> listeners = emptyList();
 
         @Autowired
         public Factory(final LineMessagingClient lineMessagingClient) {
             this.lineMessagingClient = lineMessagingClient;
         }
 
+        @Autowired(required = false)
+        public void setListeners(final List<LineMessageHandlerListener> listeners) {
+            this.listeners = listeners;
+        }
+
         ReplyByReturnValueConsumer createForEvent(final Event event) {
             return builder()
                     .lineMessagingClient(lineMessagingClient)
                     .originalEvent(event)
+                    .listeners(listeners)
                     .build();
         }
     }
@@ -97,8 +106,10 @@ class ReplyByReturnValueConsumer implements Consumer<Object> {
     private void logging(final BotApiResponse botApiResponse, final Throwable throwable) {
         if (throwable == null) {
             log.debug("Reply message success. response = {}", botApiResponse);
+            listeners.forEach(listener -> listener.onReplySuccess(originalEvent, botApiResponse));
         } else {
             log.warn("Reply message failed: {}", throwable.getMessage(), throwable);
+            listeners.forEach(listener -> listener.onReplyFailure(originalEvent, throwable));
         }
     }
 
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.source.Source;
+import com.linecorp.bot.model.event.source.SourceId;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dispatches events of the same sender ({@link Source#getSenderId()}) one by one in order,
+ * and events of different senders in parallel.
+ *
+ * <p>Suits conversational bots keeping per user, group or room state. Events without a sender
+ * are dispatched without ordering. If {@code maxQueueDepthPerSender} events of a sender are pending,
+ * further events of the sender are dropped with an error log.</p>
+ *
+ * @see KeyedExecutor
+ */
+@Slf4j
+public final class SenderOrderedEventDispatchStrategy implements EventDispatchStrategy, AutoCloseable {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ExecutorService executorService;
+    private final KeyedExecutor<SourceId> keyedExecutor;
+
+    private SenderOrderedEventDispatchStrategy(final ExecutorService executorService,
+                                               final int maxQueueDepthPerSender) {
+        this.executorService = executorService;
+        this.keyedExecutor = new KeyedExecutor<>(executorService, maxQueueDepthPerSender);
+    }
+
+    /**
+     * Creates a strategy dispatching events on a pool of {@code parallelism} threads.
+     */
+    public static SenderOrderedEventDispatchStrategy create(final int parallelism,
+                                                            final int maxQueueDepthPerSender) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            final Thread thread = new Thread(runnable, "line-bot-handler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new SenderOrderedEventDispatchStrategy(pool, maxQueueDepthPerSender);
+    }
+
+    @Override
+    public void execute(final Event event, final Runnable dispatch) {
+        final Source source = event.getSource();
+        final SourceId senderId = source != null ? source.getSenderSourceId() : null;
+        if (senderId == null) {
+            executorService.execute(dispatch);
+            return;
+        }
+
+        try {
+            keyedExecutor.execute(senderId, dispatch);
+        } catch (RejectedExecutionException e) {
+            if (executorService.isShutdown()) {
+                throw e;
+            }
+            log.error("Too many pending events of sender {}. Dropped: {}", senderId, event);
+        }
+    }
+
+    /**
+     * Stops accepting events and waits a while for running ones to finish.
+     */
+    @Override
+    public void close() {
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Event dispatch didn't finish in {} seconds.", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size binary encoding of session values stored by {@link OffHeapSessionStore}.
+ *
+ * <p>Implementations read and write with relative {@link ByteBuffer} operations, starting at the
+ * buffer's position. They must not keep the buffer, which is reused for other entries.</p>
+ *
+ * @param <V> type of session values
+ */
+public interface SessionCodec<V> {
+    /**
+     * Number of bytes of every encoded value.
+     */
+    int size();
+
+    /**
+     * Writes {@code value} in at most {@link #size()} bytes.
+     */
+    void write(V value, ByteBuffer buffer);
+
+    /**
+     * Reads a value written by {@link #write(Object, ByteBuffer)}.
+     */
+    V read(ByteBuffer buffer);
+}
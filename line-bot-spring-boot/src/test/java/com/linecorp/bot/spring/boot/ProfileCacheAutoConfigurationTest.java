@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import com.linecorp.bot.client.LineMessagingClient;
+import com.linecorp.bot.client.ProfileCachingLineMessagingClient;
+import com.linecorp.bot.spring.boot.ProfileCacheAutoConfigurationTest.TestConfig;
+import com.linecorp.bot.spring.boot.support.ProfileCacheInvalidator;
+import com.linecorp.bot.spring.boot.support.ProfilePrefetcher;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = TestConfig.class,
+        properties = { "line.bot.channelSecret=SECRET", "line.bot.channelToken=TOKEN",
+                "line.bot.profile-cache.enabled=true", "line.bot.profile-cache.prefetch=true" })
+@WebAppConfiguration
+public class ProfileCacheAutoConfigurationTest {
+    @Configuration
+    @EnableAutoConfiguration
+    public static class TestConfig {
+        // A user supplied decorator must not break the profile cache support beans.
+        @Bean
+        @Primary
+        public LineMessagingClient decoratingLineMessagingClient(
+                @Qualifier("lineMessagingClient") final LineMessagingClient lineMessagingClient) {
+            return (LineMessagingClient) Proxy.newProxyInstance(
+                    LineMessagingClient.class.getClassLoader(), new Class<?>[] { LineMessagingClient.class },
+                    (proxy, method, args) -> method.invoke(lineMessagingClient, args));
+        }
+    }
+
+    @Autowired
+    private LineMessagingClient lineMessagingClient;
+
+    @Autowired
+    private ProfileCachingLineMessagingClient profileCachingLineMessagingClient;
+
+    @Autowired
+    private ProfileCacheInvalidator profileCacheInvalidator;
+
+    @Autowired
+    private ProfilePrefetcher profilePrefetcher;
+
+    @Test
+    public void cachingClientIsInjectedByItsType() {
+        assertThat(lineMessagingClient).isNotSameAs(profileCachingLineMessagingClient);
+        assertThat(profileCacheInvalidator).isNotNull();
+        assertThat(profilePrefetcher).isNotNull();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import com.linecorp.bot.client.ReactiveLineMessagingClient;
+import com.linecorp.bot.client.ReactiveLineMessagingClientImpl;
+import com.linecorp.bot.spring.boot.ReactiveClientAutoConfigurationTest.TestConfig;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = TestConfig.class,
+        properties = { "line.bot.channelSecret=SECRET", "line.bot.channelToken=TOKEN" })
+@WebAppConfiguration
+public class ReactiveClientAutoConfigurationTest {
+    @Configuration
+    @EnableAutoConfiguration
+    public static class TestConfig {
+    }
+
+    @Autowired
+    private ReactiveLineMessagingClient reactiveLineMessagingClient;
+
+    @Test
+    public void reactiveClientIsConfiguredWithReactorOnClasspath() {
+        assertThat(reactiveLineMessagingClient).isInstanceOf(ReactiveLineMessagingClientImpl.class);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.linecorp.bot.client.LineSignatureValidator;
+import com.linecorp.bot.servlet.LineBotCallbackRequestParser;
+import com.linecorp.bot.spring.boot.metrics.LineBotMetricsAutoConfigurationTest.TestConfig;
+import com.linecorp.bot.spring.boot.support.BeaconEventSuppressor;
+import com.linecorp.bot.spring.boot.support.EventDeduplicator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = TestConfig.class,
+        properties = { "line.bot.channelSecret=SECRET", "line.bot.channelToken=TOKEN",
+                "line.bot.dedup.enabled=true", "line.bot.beacon-suppression.enabled=true" })
+@WebAppConfiguration
+public class LineBotMetricsAutoConfigurationTest {
+    @Configuration
+    @EnableAutoConfiguration
+    public static class TestConfig {
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LineSignatureValidator lineSignatureValidator;
+
+    @Autowired
+    private LineBotCallbackRequestParser lineBotCallbackRequestParser;
+
+    @Autowired
+    private MicrometerLineMessageHandlerListener listener;
+
+    @Autowired
+    private EventDeduplicator eventDeduplicator;
+
+    @Autowired
+    private BeaconEventSuppressor beaconEventSuppressor;
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void before() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac).build();
+    }
+
+    @Test
+    public void meteredBeansTest() {
+        assertThat(lineSignatureValidator).isInstanceOf(MeteredLineSignatureValidator.class);
+        assertThat(lineBotCallbackRequestParser).isInstanceOf(MeteredLineBotCallbackRequestParser.class);
+        assertThat(listener).isNotNull();
+        assertThat(eventDeduplicator).isInstanceOf(MeteredEventDeduplicator.class);
+        assertThat(beaconEventSuppressor).isInstanceOf(MeteredBeaconEventSuppressor.class);
+    }
+
+    @Test
+    public void invalidSignatureTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/callback")
+                                              .header("X-Line-Signature", "SSSSIGNATURE")
+                                              .content("{}"))
+               .andExpect(status().isBadRequest());
+
+        assertThat(meterRegistry.find(MeteredLineSignatureValidator.SIGNATURE_FAILURES).counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find(MeteredLineBotCallbackRequestParser.PARSE_TIMER)
+                                .tags("outcome", "failure")
+                                .timer().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.linecorp.bot.model.event.BeaconEvent;
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.FollowEvent;
+import com.linecorp.bot.model.event.beacon.BeaconContent;
+import com.linecorp.bot.model.event.source.UserSource;
+
+public class BeaconEventSuppressorTest {
+    private static final Instant TIMESTAMP = Instant.parse("2016-11-19T00:00:00.000Z");
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final BeaconEventSuppressor target = new BeaconEventSuppressor(60_000, 100, ticker::get);
+
+    @Test
+    public void repeatedBeaconEventsAreSuppressed() {
+        final Event first = beacon("user1", "hwid1", "enter");
+        final Event otherUser = beacon("user2", "hwid1", "enter");
+        final Event otherBeacon = beacon("user1", "hwid2", "enter");
+        final Event leave = beacon("user1", "hwid1", "leave");
+
+        // Do
+        assertThat(target.preprocess(asList(first, beacon("user1", "hwid1", "enter"), otherUser)))
+                .containsExactly(first, otherUser);
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(target.preprocess(asList(beacon("user1", "hwid1", "enter"), otherBeacon, leave)))
+                .containsExactly(otherBeacon, leave);
+
+        // Verify
+        assertThat(target.getSuppressedCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void otherEventsPass() {
+        final Event follow = new FollowEvent("replyToken", new UserSource("user1"), TIMESTAMP);
+
+        assertThat(target.preprocess(asList(follow, follow))).containsExactly(follow, follow);
+        assertThat(target.getSuppressedCount()).isZero();
+    }
+
+    @Test
+    public void beaconEventPassesAgainAfterWindow() {
+        target.preprocess(singletonList(beacon("user1", "hwid1", "enter")));
+
+        // Do
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        // Verify
+        final Event event = beacon("user1", "hwid1", "enter");
+        assertThat(target.preprocess(singletonList(event))).containsExactly(event);
+    }
+
+    private static Event beacon(final String userId, final String hwid, final String type) {
+        return new BeaconEvent("replyToken", new UserSource(userId), TIMESTAMP,
+                               new BeaconContent(hwid, type, null));
+    }
+}
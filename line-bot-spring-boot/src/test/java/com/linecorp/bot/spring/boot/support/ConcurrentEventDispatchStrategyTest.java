@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.spring.boot.test.EventTestUtil;
+
+public class ConcurrentEventDispatchStrategyTest {
+    private static final Event EVENT = EventTestUtil.createTextMessage("text");
+
+    @Test(timeout = 5_000)
+    public void boundedPoolLimitsConcurrency() throws Exception {
+        try (ConcurrentEventDispatchStrategy target = ConcurrentEventDispatchStrategy.boundedPool(3)) {
+            assertLimitsConcurrency(target, 3);
+            assertThat(target.isVirtualThreads()).isFalse();
+        }
+    }
+
+    @Test(timeout = 5_000)
+    public void createLimitsConcurrency() throws Exception {
+        try (ConcurrentEventDispatchStrategy target = ConcurrentEventDispatchStrategy.create(3)) {
+            assertLimitsConcurrency(target, 3);
+        }
+    }
+
+    @Test(timeout = 5_000)
+    public void dispatchesOffCallerThread() throws Exception {
+        final Thread caller = Thread.currentThread();
+        final CountDownLatch dispatched = new CountDownLatch(1);
+        final Thread[] dispatchThread = new Thread[1];
+
+        try (ConcurrentEventDispatchStrategy target = ConcurrentEventDispatchStrategy.create(1)) {
+            // Do
+            target.execute(EVENT, () -> {
+                dispatchThread[0] = Thread.currentThread();
+                dispatched.countDown();
+            });
+
+            // Verify
+            dispatched.await();
+            assertThat(dispatchThread[0]).isNotSameAs(caller);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveMaxConcurrencyIsRejected() {
+        ConcurrentEventDispatchStrategy.create(0);
+    }
+
+    private static void assertLimitsConcurrency(final ConcurrentEventDispatchStrategy target,
+                                                final int maxConcurrency) throws Exception {
+        final int events = maxConcurrency * 5;
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(events);
+
+        // Do
+        for (int i = 0; i < events; i++) {
+            target.execute(EVENT, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        // Verify
+        done.await();
+        assertThat(maxRunning.get()).isBetween(1, maxConcurrency);
+    }
+}
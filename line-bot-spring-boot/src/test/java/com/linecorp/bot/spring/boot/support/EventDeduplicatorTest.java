@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.MessageEvent;
+import com.linecorp.bot.model.event.UnfollowEvent;
+import com.linecorp.bot.model.event.message.TextMessageContent;
+import com.linecorp.bot.model.event.source.UserSource;
+
+public class EventDeduplicatorTest {
+    private static final Instant TIMESTAMP = Instant.parse("2016-11-19T00:00:00.000Z");
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final EventDeduplicator target = new EventDeduplicator(60_000, 100, ticker::get);
+
+    @Test
+    public void duplicatesAreDropped() {
+        final Event first = message("replyToken1", "1");
+        final Event second = message("replyToken2", "2");
+        target.preprocess(asList(first, second));
+
+        // Do
+        final Event third = message("replyToken3", "3");
+        // Redelivered events are equal, but not the same instances.
+        assertThat(target.preprocess(asList(message("replyToken1", "1"), third, message("replyToken2", "2"))))
+                .containsExactly(third);
+
+        // Verify
+        assertThat(target.getDuplicateCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void duplicatesInSameBatchAreDropped() {
+        final Event event = message("replyToken", "1");
+
+        assertThat(target.preprocess(asList(event, event))).containsExactly(event);
+    }
+
+    @Test
+    public void eventsWithoutReplyTokenAreIdentifiedBySourceAndTimestamp() {
+        final Event unfollow = new UnfollowEvent(new UserSource("userId"), TIMESTAMP);
+        final Event laterUnfollow = new UnfollowEvent(new UserSource("userId"), TIMESTAMP.plusMillis(1));
+        target.preprocess(singletonList(unfollow));
+
+        assertThat(target.preprocess(asList(new UnfollowEvent(new UserSource("userId"), TIMESTAMP),
+                                            laterUnfollow)))
+                .containsExactly(laterUnfollow);
+    }
+
+    @Test
+    public void eventsAreForgottenAfterWindow() {
+        final Event event = message("replyToken", "1");
+        target.preprocess(singletonList(event));
+
+        // Do
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        // Verify
+        assertThat(target.preprocess(singletonList(event))).containsExactly(event);
+        assertThat(target.getDuplicateCount()).isZero();
+    }
+
+    @Test
+    public void memoryIsBounded() {
+        // 100 entries per minute, 12 per bucket of 7.5 seconds.
+        for (int i = 0; i < 1_000; i++) {
+            target.preprocess(singletonList(message("replyToken" + i, String.valueOf(i))));
+        }
+
+        // Overflowed events aren't remembered, but not mistaken for duplicates either.
+        assertThat(target.preprocess(singletonList(message("replyToken999", "999")))).hasSize(1);
+        assertThat(target.preprocess(singletonList(message("replyToken0", "0")))).isEmpty();
+    }
+
+    private static Event message(final String replyToken, final String id) {
+        return new MessageEvent<>(replyToken, new UserSource("userId"), new TextMessageContent(id, "text"),
+                                  TIMESTAMP);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KeyedExecutorTest {
+    private ExecutorService executorService;
+    private KeyedExecutor<String> target;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(4);
+        target = new KeyedExecutor<>(executorService, 100);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test(timeout = 5_000)
+    public void tasksOfSameKeyRunInOrder() throws Exception {
+        final List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(100);
+
+        // Do
+        for (int i = 0; i < 100; i++) {
+            final int n = i;
+            target.execute("USER", () -> {
+                executed.add(n);
+                done.countDown();
+            });
+        }
+
+        // Verify
+        done.await();
+        assertThat(executed).isEqualTo(IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+    }
+
+    @Test(timeout = 5_000)
+    public void tasksOfDifferentKeysRunInParallel() throws Exception {
+        final CountDownLatch allStarted = new CountDownLatch(3);
+
+        // Do
+        for (String key : new String[] { "A", "B", "C" }) {
+            target.execute(key, () -> {
+                allStarted.countDown();
+                try {
+                    allStarted.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        // Verify
+        assertThat(allStarted.await(3, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test(timeout = 5_000)
+    public void idleMailboxIsEvicted() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+
+        // Do
+        target.execute("USER", done::countDown);
+
+        // Verify
+        done.await();
+        while (target.activeKeys() != 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    @Test(timeout = 5_000)
+    public void failingTaskDoesNotBlockFollowingTasks() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+
+        // Do
+        target.execute("USER", () -> {
+            throw new IllegalStateException("fail");
+        });
+        target.execute("USER", done::countDown);
+
+        // Verify
+        done.await();
+    }
+
+    @Test(timeout = 5_000)
+    public void queueDepthIsBounded() throws Exception {
+        final KeyedExecutor<String> target = new KeyedExecutor<>(executorService, 2);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        target.execute("USER", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        target.execute("USER", () -> {});
+        target.execute("USER", () -> {});
+
+        // Do
+        try {
+            target.execute("USER", () -> {});
+            throw new AssertionError("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException expected) {
+            // Expected
+        }
+
+        // Verify
+        final CountDownLatch otherKey = new CountDownLatch(1);
+        target.execute("OTHER", otherKey::countDown);
+        otherKey.await();
+        release.countDown();
+    }
+}
@@ -16,15 +16,24 @@
 
 package com.linecorp.bot.spring.boot.support;
 
+import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -62,6 +71,9 @@ public class LineMessageHandlerSupportTest {
     @Mock
     private ReplyByReturnValueConsumer replyByReturnValueConsumer;
 
+    @Mock
+    private LineMessageHandlerListener listener;
+
     @InjectMocks
     private LineMessageHandlerSupport target;
 
@@ -131,6 +143,83 @@ public class LineMessageHandlerSupportTest {
         verify(replyByReturnValueConsumer, times(1)).accept(new TextMessage("Message from Handler method"));
     }
 
+    @Test
+    public void dispatchNotifiesListenerOfSuccessTest() throws Exception {
+        final MessageEvent event = EventTestUtil.createTextMessage("text");
+
+        when(applicationContext.getBeansWithAnnotation(LineMessageHandler.class))
+                .thenReturn(singletonMap("bean", new ReplyHandler("Message from Handler method")));
+        target.setListeners(singletonList(listener));
+        target.refresh();
+
+        // Do
+        target.dispatch(event);
+
+        // Verify
+        verify(listener).onHandlerSuccess(eq(ReplyHandler.class.getMethod("reply", ReplyEvent.class)),
+                                          eq(event), anyLong());
+    }
+
+    @Test
+    public void dispatchNotifiesListenerOfFailureTest() throws Exception {
+        final MessageEvent event = EventTestUtil.createTextMessage("text");
+
+        when(applicationContext.getBeansWithAnnotation(LineMessageHandler.class))
+                .thenReturn(singletonMap("bean", new FailingHandler()));
+        target.setListeners(singletonList(listener));
+        target.refresh();
+
+        // Do
+        target.dispatch(event);
+
+        // Verify
+        verify(listener).onHandlerFailure(eq(FailingHandler.class.getMethod("fail", Event.class)),
+                                          eq(event), anyLong(), isA(IllegalStateException.class));
+    }
+
+    @Test
+    public void preprocessorsAreAppliedBeforeDispatchTest() {
+        final MessageEvent dropped = EventTestUtil.createTextMessage("drop");
+        final MessageEvent kept = EventTestUtil.createTextMessage("keep");
+
+        when(applicationContext.getBeansWithAnnotation(LineMessageHandler.class))
+                .thenReturn(singletonMap("bean", new ReplyHandler("Message from Handler method")));
+        target.setPreprocessors(Arrays.asList(
+                events -> {
+                    throw new IllegalStateException("skipped");
+                },
+                events -> events.stream()
+                                .filter(event -> event != dropped)
+                                .collect(Collectors.toList())));
+        target.refresh();
+
+        // Do
+        target.callback(Arrays.asList(dropped, kept));
+
+        // Verify
+        verify(replyByReturnValueConsumerFactory, never()).createForEvent(dropped);
+        verify(replyByReturnValueConsumerFactory).createForEvent(kept);
+    }
+
+    @Test
+    public void dispatchStrategyRunsDispatchTest() {
+        final MessageEvent event = EventTestUtil.createTextMessage("text");
+        final List<Runnable> deferred = new ArrayList<>();
+
+        when(applicationContext.getBeansWithAnnotation(LineMessageHandler.class))
+                .thenReturn(singletonMap("bean", new ReplyHandler("Message from Handler method")));
+        target.setDispatchStrategy((e, dispatch) -> deferred.add(dispatch));
+        target.refresh();
+
+        // Do
+        target.callback(singletonList(event));
+
+        // Verify
+        verify(replyByReturnValueConsumerFactory, never()).createForEvent(event);
+        deferred.forEach(Runnable::run);
+        verify(replyByReturnValueConsumerFactory).createForEvent(event);
+    }
+
     @LineMessageHandler
     public static class MessageHandler {
         @EventMapping
@@ -149,6 +238,14 @@ public class LineMessageHandlerSupportTest {
         }
     }
 
+    @LineMessageHandler
+    public static class FailingHandler {
+        @EventMapping
+        public void fail(final Event event) {
+            throw new IllegalStateException("fail");
+        }
+    }
+
     @LineMessageHandler
     @AllArgsConstructor
     public static class ReplyHandler {
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.linecorp.bot.model.event.source.SourceId;
+
+public class OffHeapSessionStoreTest {
+    private static final long TTL = 60_000;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final AtomicLong clock = new AtomicLong(1_500_000_000_000L);
+
+    @Test
+    public void putAndGet() throws Exception {
+        try (OffHeapSessionStore<Long> target = directStore(100)) {
+            target.put(SourceId.of("U1"), 1L);
+            target.put(SourceId.of("U2"), 2L);
+            target.put(SourceId.of("U1"), 3L);
+
+            assertThat(target.get(SourceId.of("U1"))).isEqualTo(3L);
+            assertThat(target.get(SourceId.of("U2"))).isEqualTo(2L);
+            assertThat(target.get(SourceId.of("U3"))).isNull();
+            assertThat(target.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void sessionsExpire() throws Exception {
+        try (OffHeapSessionStore<Long> target = directStore(100)) {
+            target.put(SourceId.of("U1"), 1L);
+            clock.addAndGet(TTL / 2);
+            target.put(SourceId.of("U2"), 2L);
+
+            // Do
+            clock.addAndGet(TTL / 2);
+
+            // Verify
+            assertThat(target.get(SourceId.of("U1"))).isNull();
+            assertThat(target.get(SourceId.of("U2"))).isEqualTo(2L);
+            assertThat(target.remove(SourceId.of("U1"))).isFalse();
+            assertThat(target.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void sessionsOfMaxTtlNeverExpire() throws Exception {
+        try (OffHeapSessionStore<Long> target = OffHeapSessionStore.open(null, new LongCodec(), 100,
+                                                                         Long.MAX_VALUE, clock::get)) {
+            target.put(SourceId.of("U1"), 1L);
+
+            clock.addAndGet(TTL * 1_000_000);
+
+            assertThat(target.get(SourceId.of("U1"))).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    public void forEachVisitsUnexpiredSessions() throws Exception {
+        try (OffHeapSessionStore<Long> target = directStore(100)) {
+            target.put(SourceId.of("U1"), 1L);
+            clock.addAndGet(TTL / 2);
+            for (int i = 2; i <= 50; i++) {
+                target.put(SourceId.of("U" + i), (long) i);
+            }
+            target.remove(SourceId.of("U2"));
+            clock.addAndGet(TTL / 2);
+
+            // Do
+            final Map<SourceId, Long> visited = new HashMap<>();
+            target.forEach(visited::put);
+
+            // Verify
+            final Map<SourceId, Long> expected = new HashMap<>();
+            for (int i = 3; i <= 50; i++) {
+                expected.put(SourceId.of("U" + i), (long) i);
+            }
+            assertThat(visited).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void sameAsHashMapUnderRandomOperations() throws Exception {
+        final Map<String, Long> expected = new HashMap<>();
+        final Random random = new Random(0);
+        try (OffHeapSessionStore<Long> target = directStore(2_000)) {
+            for (int i = 0; i < 100_000; i++) {
+                final SourceId senderId = SourceId.of("U" + random.nextInt(1_000));
+                switch (random.nextInt(3)) {
+                    case 0:
+                        target.put(senderId, (long) i);
+                        expected.put(senderId, (long) i);
+                        break;
+                    case 1:
+                        assertThat(target.remove(senderId)).isEqualTo(expected.remove(senderId) != null);
+                        break;
+                    default:
+                        assertThat(target.get(senderId)).isEqualTo(expected.get(senderId));
+                }
+            }
+            assertThat(target.size()).isEqualTo(expected.size());
+        }
+    }
+
+    @Test
+    public void fullStoreRejectsNewSendersUntilSessionsExpire() throws Exception {
+        try (OffHeapSessionStore<Long> target = directStore(16)) {
+            int stored = 0;
+            try {
+                for (int i = 0; i < 1_000; i++) {
+                    target.put(SourceId.of("U" + i), (long) i);
+                    stored++;
+                }
+            } catch (IllegalStateException expected) {
+                // Full.
+            }
+            assertThat(stored).isLessThan(1_000);
+
+            // Do
+            clock.addAndGet(TTL);
+
+            // Verify
+            target.put(SourceId.of("U" + stored), 0L);
+            assertThat(target.get(SourceId.of("U" + stored))).isEqualTo(0L);
+            target.evictExpired();
+            assertThat(target.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void sessionsSurviveReopen() throws Exception {
+        final Path file = temporaryFolder.newFile().toPath();
+        try (OffHeapSessionStore<Long> target = OffHeapSessionStore.open(file, new LongCodec(), 100, TTL,
+                                                                         clock::get)) {
+            target.put(SourceId.of("U1"), 1L);
+            target.put(SourceId.of("U2"), 2L);
+            target.remove(SourceId.of("U2"));
+        }
+
+        try (OffHeapSessionStore<Long> target = OffHeapSessionStore.open(file, new LongCodec(), 100, TTL,
+                                                                         clock::get)) {
+            assertThat(target.get(SourceId.of("U1"))).isEqualTo(1L);
+            assertThat(target.get(SourceId.of("U2"))).isNull();
+            assertThat(target.size()).isEqualTo(1);
+        }
+
+        assertThatThrownBy(() -> OffHeapSessionStore.open(file, new LongCodec(), 1_000, TTL, clock::get))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void failedWriteLeavesStoreUnchanged() throws Exception {
+        try (OffHeapSessionStore<Long> target = OffHeapSessionStore.open(null, new PositiveLongCodec(), 100,
+                                                                         TTL, clock::get)) {
+            target.put(SourceId.of("U1"), 1L);
+
+            assertThatThrownBy(() -> target.put(SourceId.of("U1"), -1L))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> target.put(SourceId.of("U2"), -1L))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            assertThat(target.get(SourceId.of("U1"))).isEqualTo(1L);
+            assertThat(target.get(SourceId.of("U2"))).isNull();
+            assertThat(target.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void lineIdsAreStoredCompactly() throws Exception {
+        final String userId = "U4af4980629a1b2c3d4e5f60718293a4b";
+        try (OffHeapSessionStore<Long> target = directStore(100)) {
+            target.put(SourceId.of(userId), 1L);
+            target.put(SourceId.of("U4AF4980629A1B2C3D4E5F60718293A4B"), 2L);
+
+            final Map<SourceId, Long> visited = new HashMap<>();
+            target.forEach(visited::put);
+
+            assertThat(target.get(SourceId.of(new String(userId)))).isEqualTo(1L);
+            assertThat(visited).containsEntry(SourceId.of(userId), 1L)
+                               .containsEntry(SourceId.of("U4AF4980629A1B2C3D4E5F60718293A4B"), 2L);
+        }
+    }
+
+    @Test
+    public void tooLongSenderIdIsRejected() throws Exception {
+        try (OffHeapSessionStore<Long> target = directStore(100)) {
+            final SourceId senderId = SourceId.of(new String(new char[OffHeapSessionStore.MAX_KEY_BYTES])
+                                                          .replace('\0', 'U'));
+
+            assertThatThrownBy(() -> target.put(senderId, 1L)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private OffHeapSessionStore<Long> directStore(final int maxEntries) throws Exception {
+        return OffHeapSessionStore.open(null, new LongCodec(), maxEntries, TTL, clock::get);
+    }
+
+    private static class LongCodec implements SessionCodec<Long> {
+        @Override
+        public int size() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(final Long value, final ByteBuffer buffer) {
+            buffer.putLong(value);
+        }
+
+        @Override
+        public Long read(final ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    }
+
+    private static class PositiveLongCodec extends LongCodec {
+        @Override
+        public void write(final Long value, final ByteBuffer buffer) {
+            // Fails after writing, like a codec validating late.
+            super.write(value, buffer);
+            if (value < 0) {
+                throw new IllegalArgumentException("negative: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.only;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import com.linecorp.bot.client.ProfileCachingLineMessagingClient;
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.UnfollowEvent;
+import com.linecorp.bot.model.event.source.UserSource;
+import com.linecorp.bot.spring.boot.test.EventTestUtil;
+
+public class ProfileCacheInvalidatorTest {
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ProfileCachingLineMessagingClient profileCachingLineMessagingClient;
+
+    @InjectMocks
+    private ProfileCacheInvalidator target;
+
+    @Test
+    public void invalidatesOnUnfollow() {
+        final List<Event> events = Arrays.asList(
+                EventTestUtil.createTextMessage("text"),
+                new UnfollowEvent(new UserSource("UNFOLLOWED"), Instant.parse("2016-11-19T00:00:00.000Z")));
+
+        // Do
+        final List<Event> result = target.preprocess(events);
+
+        // Verify
+        assertThat(result).isSameAs(events);
+        verify(profileCachingLineMessagingClient, only()).invalidate("UNFOLLOWED");
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+
+import com.linecorp.bot.client.ProfileCachingLineMessagingClient;
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.MessageEvent;
+import com.linecorp.bot.model.event.UnfollowEvent;
+import com.linecorp.bot.model.event.message.TextMessageContent;
+import com.linecorp.bot.model.event.source.GroupSource;
+import com.linecorp.bot.model.event.source.UserSource;
+import com.linecorp.bot.model.profile.UserProfileResponse;
+
+public class ProfilePrefetcherTest {
+    private static final Instant TIMESTAMP = Instant.parse("2016-11-19T00:00:00.000Z");
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ProfileCachingLineMessagingClient profileCachingLineMessagingClient;
+
+    @Test(timeout = 1_000)
+    public void prefetchesDistinctUsers() {
+        when(profileCachingLineMessagingClient.getProfile(anyString()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new UserProfileResponse("name", "userId", null, null)));
+        final List<Event> events = Arrays.asList(groupMessage("A"), groupMessage("B"), groupMessage("A"),
+                                                 new UnfollowEvent(new UserSource("C"), TIMESTAMP));
+
+        // Do
+        final List<Event> result = new ProfilePrefetcher(profileCachingLineMessagingClient, 2, 1_000)
+                .preprocess(events);
+
+        // Verify
+        assertThat(result).isSameAs(events);
+        verify(profileCachingLineMessagingClient, times(1)).getProfile("A");
+        verify(profileCachingLineMessagingClient, times(1)).getProfile("B");
+        verify(profileCachingLineMessagingClient, never()).getProfile("C");
+    }
+
+    @Test(timeout = 1_000)
+    public void boundsConcurrencyAndGivesUpAfterTimeout() {
+        when(profileCachingLineMessagingClient.getProfile(anyString())).thenReturn(new CompletableFuture<>());
+        final List<Event> events = Arrays.asList(groupMessage("A"), groupMessage("B"), groupMessage("C"));
+
+        // Do
+        final long start = System.nanoTime();
+        new ProfilePrefetcher(profileCachingLineMessagingClient, 2, 100).preprocess(events);
+
+        // Verify
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(100_000_000L);
+        verify(profileCachingLineMessagingClient, times(2)).getProfile(anyString());
+        verify(profileCachingLineMessagingClient, never()).getProfile("C");
+    }
+
+    @Test
+    public void runsAfterPreprocessorsDroppingEvents() {
+        final ProfilePrefetcher prefetcher = new ProfilePrefetcher(profileCachingLineMessagingClient, 2, 100);
+        final ProfileCacheInvalidator invalidator = new ProfileCacheInvalidator(profileCachingLineMessagingClient);
+        final EventDeduplicator deduplicator = new EventDeduplicator(60_000, 100);
+        final BeaconEventSuppressor suppressor = new BeaconEventSuppressor(60_000, 100);
+        final List<EventPreprocessor> preprocessors =
+                new ArrayList<>(Arrays.asList(prefetcher, suppressor, invalidator, deduplicator));
+
+        // Do
+        AnnotationAwareOrderComparator.sort(preprocessors);
+
+        // Verify
+        assertThat(preprocessors).containsExactly(deduplicator, invalidator, suppressor, prefetcher);
+    }
+
+    private static Event groupMessage(final String userId) {
+        return new MessageEvent<>("replyToken", new GroupSource("groupId", userId),
+                                  new TextMessageContent("id", "text"), TIMESTAMP);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.bot.spring.boot.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import com.linecorp.bot.model.event.Event;
+import com.linecorp.bot.model.event.MessageEvent;
+import com.linecorp.bot.model.event.message.TextMessageContent;
+import com.linecorp.bot.model.event.source.UnknownSource;
+import com.linecorp.bot.model.event.source.UserSource;
+
+public class SenderOrderedEventDispatchStrategyTest {
+    @Test(timeout = 5_000)
+    public void eventsOfSenderAreDispatchedInOrder() throws Exception {
+        final List<String> dispatched = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(3);
+
+        try (SenderOrderedEventDispatchStrategy target = SenderOrderedEventDispatchStrategy.create(4, 10)) {
+            // Do
+            for (String text : new String[] { "1", "2", "3" }) {
+                final Event event = new MessageEvent<>("replyToken", new UserSource("USER"),
+                                                       new TextMessageContent("id", text), null);
+                target.execute(event, () -> {
+                    dispatched.add(text);
+                    done.countDown();
+                });
+            }
+
+            // Verify
+            done.await();
+            assertThat(dispatched).containsExactly("1", "2", "3");
+        }
+    }
+
+    @Test(timeout = 5_000)
+    public void eventWithoutSenderIsDispatched() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+
+        try (SenderOrderedEventDispatchStrategy target = SenderOrderedEventDispatchStrategy.create(1, 10)) {
+            // Do
+            target.execute(new MessageEvent<>("replyToken", new UnknownSource(),
+                                              new TextMessageContent("id", "text"), null),
+                           done::countDown);
+
+            // Verify
+            done.await();
+        }
+    }
+}
@@ -39,6 +39,7 @@ import com.google.common.io.ByteStreams;
 
 import com.linecorp.bot.client.LineMessagingClient;
 import com.linecorp.bot.client.MessageContentResponse;
+import com.linecorp.bot.client.PreparedMessages;
 import com.linecorp.bot.model.ReplyMessage;
 import com.linecorp.bot.model.action.MessageAction;
 import com.linecorp.bot.model.action.PostbackAction;
@@ -87,12 +88,21 @@ import java.net.URI;
 @Slf4j
 @LineMessageHandler
 public class KitchenSinkController {
+	// Same for every request, so serialized once.
+	private static final PreparedMessages CONFIRM = PreparedMessages.of(new TemplateMessage(
+			"Confirm alt text",
+			new ConfirmTemplate("Do it?",
+								new MessageAction("Yes", "Yes!"),
+								new MessageAction("No", "No!"))));
 	
 
 
 	@Autowired
 	private LineMessagingClient lineMessagingClient;
 
+	@Autowired
+	private OrderQueue orderQueue;
+
 	@EventMapping
 	public void handleTextMessageEvent(MessageEvent<TextMessageContent> event) throws Exception {
 		log.info("XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX");
@@ -192,6 +202,15 @@ public class KitchenSinkController {
 		}
 	}
 
+	private void reply(@NonNull String replyToken, @NonNull PreparedMessages messages) {
+		try {
+			BotApiResponse apiResponse = lineMessagingClient.replyMessage(replyToken, messages).get();
+			log.info("Sent messages: {}", apiResponse);
+		} catch (InterruptedException | ExecutionException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	private void replyText(@NonNull String replyToken, @NonNull String message) {
 		if (replyToken.isEmpty()) {
 			throw new IllegalArgumentException("replyToken must not be empty");
@@ -212,7 +231,38 @@ public class KitchenSinkController {
         String text = content.getText();
 
         log.info("Got text message from {}: {}", replyToken, text);
+        if (text.startsWith("ready ")) {
+            if (staffUserId == null || !staffUserId.equals(event.getSource().getUserId())) {
+                this.replyText(replyToken, "Only staff can announce orders");
+                return;
+            }
+            try {
+                int id = Integer.parseInt(text.substring("ready ".length()).trim());
+                this.replyText(replyToken, orderQueue.ready(id) ? "Announced order " + id
+                                                                : "Order " + id + " is not in the queue");
+            } catch (NumberFormatException e) {
+                this.replyText(replyToken, "Which order is ready? Say \"ready <order id>\"");
+            }
+            return;
+        }
         switch (text) {
+            case "order": {
+                String userId = event.getSource().getUserId();
+                if (userId != null) {
+                    try {
+                        this.replyText(replyToken, "Your order id is " + orderQueue.order(userId));
+                    } catch (IllegalStateException e) {
+                        this.replyText(replyToken, "Sorry, we can't take more orders now");
+                    }
+                } else {
+                    this.replyText(replyToken, "Bot can't notify your order without user ID");
+                }
+                break;
+            }
+            case "queue": {
+                this.replyText(replyToken, "The following ids are in the queue: " + orderQueue.getQueue());
+                break;
+            }
             case "profile": {
                 String userId = event.getSource().getUserId();
                 if (userId != null) {
@@ -225,13 +275,7 @@ public class KitchenSinkController {
                 break;
             }
             case "confirm": {
-                ConfirmTemplate confirmTemplate = new ConfirmTemplate(
-                        "Do it?",
-                        new MessageAction("Yes", "Yes!"),
-                        new MessageAction("No", "No!")
-                );
-                TemplateMessage templateMessage = new TemplateMessage("Confirm alt text", confirmTemplate);
-                this.reply(replyToken, templateMessage);
+                this.reply(replyToken, CONFIRM);
                 break;
             }
             case "carousel": {
@@ -318,10 +362,13 @@ public class KitchenSinkController {
 	public KitchenSinkController() {
 		database = new SQLDatabaseEngine();
 		itscLOGIN = System.getenv("ITSC_LOGIN");
+		staffUserId = System.getenv("STAFF_USER_ID");
 	}
 
 	private SQLDatabaseEngine database;
 	private String itscLOGIN;
+	// User who can announce orders with "ready <order id>". Nobody can if not set.
+	private String staffUserId;
 	
 
 	//The annontation @Value is from the package lombok.Value
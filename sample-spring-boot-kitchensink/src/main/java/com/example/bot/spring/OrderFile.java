@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.example.bot.spring;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import lombok.NonNull;
+
+/**
+ * Fixed-size table of waiting orders, by order id, and the next order id to issue.
+ *
+ * <p>Each order takes a slot of {@value #SLOT_BYTES} bytes: its id, or 0 if the slot is free, and the
+ * user ID of its customer. The id is written last, so an order stopped half way is not loaded.
+ * The table is memory-mapped on a file by {@link #open(Path, int)}, or kept in memory by
+ * {@link #create(int)}. All methods are thread-safe.</p>
+ */
+final class OrderFile implements Closeable {
+	static final int MAX_USER_ID_BYTES = 64;
+
+	private static final int MAGIC = 0x4f524451;
+	private static final int HEADER_BYTES = 16;
+
+	// Offsets in the header.
+	private static final int SLOT_COUNT = 4;
+	private static final int NEXT_ID = 8;
+
+	// Offsets in a slot.
+	private static final int ID = 0;
+	private static final int LENGTH = 4;
+	private static final int USER_ID = 5;
+	private static final int SLOT_BYTES = USER_ID + MAX_USER_ID_BYTES;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	// Guarded by this. Order id to its slot, and slots not in use.
+	private final Map<Integer, Integer> slots = new HashMap<>();
+	private final int[] freeSlots;
+	private int freeCount;
+
+	private OrderFile(int maxOrders, Path file) throws IOException {
+		if (maxOrders <= 0) {
+			throw new IllegalArgumentException("maxOrders must be positive: " + maxOrders);
+		}
+		int size = HEADER_BYTES + maxOrders * SLOT_BYTES;
+		if (file == null) {
+			channel = null;
+			buffer = ByteBuffer.allocate(size);
+			buffer.putInt(0, MAGIC).putInt(SLOT_COUNT, maxOrders).putInt(NEXT_ID, 1);
+		} else {
+			channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+									   StandardOpenOption.WRITE);
+			try {
+				boolean created = channel.size() == 0;
+				if (!created && channel.size() != size) {
+					throw new IllegalStateException(file + " isn't an order file of " + maxOrders + " orders");
+				}
+				buffer = channel.map(MapMode.READ_WRITE, 0, size);
+				if (created) {
+					buffer.putInt(0, MAGIC).putInt(SLOT_COUNT, maxOrders).putInt(NEXT_ID, 1);
+				} else if (buffer.getInt(0) != MAGIC || buffer.getInt(SLOT_COUNT) != maxOrders) {
+					throw new IllegalStateException(file + " isn't an order file of " + maxOrders + " orders");
+				}
+			} catch (IOException | RuntimeException e) {
+				channel.close();
+				throw e;
+			}
+		}
+
+		freeSlots = new int[maxOrders];
+		for (int slot = maxOrders - 1; slot >= 0; slot--) {
+			int id = buffer.getInt(offset(slot) + ID);
+			if (id == 0) {
+				freeSlots[freeCount++] = slot;
+			} else {
+				slots.put(id, slot);
+			}
+		}
+	}
+
+	/**
+	 * Creates a table in memory, lost when the process exits.
+	 */
+	static OrderFile create(int maxOrders) {
+		try {
+			return new OrderFile(maxOrders, null);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Opens a table memory-mapped on {@code file}, creating the file if it doesn't exist.
+	 *
+	 * @throws IllegalStateException if the file was created for another number of orders.
+	 */
+	static OrderFile open(@NonNull Path file, int maxOrders) throws IOException {
+		return new OrderFile(maxOrders, file);
+	}
+
+	synchronized int getNextId() {
+		return buffer.getInt(NEXT_ID);
+	}
+
+	synchronized void setNextId(int nextId) {
+		buffer.putInt(NEXT_ID, nextId);
+	}
+
+	/**
+	 * Stores an order.
+	 *
+	 * @throws IllegalStateException if all slots are in use.
+	 */
+	synchronized void put(int id, @NonNull String userId) {
+		if (id <= 0) {
+			throw new IllegalArgumentException("order id must be positive: " + id);
+		}
+		byte[] bytes = userId.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > MAX_USER_ID_BYTES) {
+			throw new IllegalArgumentException("user ID is too long: " + userId);
+		}
+		if (slots.containsKey(id)) {
+			throw new IllegalArgumentException("order " + id + " is stored already");
+		}
+		if (freeCount == 0) {
+			throw new IllegalStateException("order file is full");
+		}
+
+		int slot = freeSlots[--freeCount];
+		int offset = offset(slot);
+		buffer.put(offset + LENGTH, (byte) bytes.length);
+		for (int i = 0; i < bytes.length; i++) {
+			buffer.put(offset + USER_ID + i, bytes[i]);
+		}
+		buffer.putInt(offset + ID, id);
+		slots.put(id, slot);
+	}
+
+	/**
+	 * Removes an order.
+	 *
+	 * @return {@code false} if the order was not stored.
+	 */
+	synchronized boolean remove(int id) {
+		Integer slot = slots.remove(id);
+		if (slot == null) {
+			return false;
+		}
+		buffer.putInt(offset(slot) + ID, 0);
+		freeSlots[freeCount++] = slot;
+		return true;
+	}
+
+	/**
+	 * Calls {@code action} with the id and user ID of every stored order, in no particular order.
+	 */
+	synchronized void forEach(@NonNull BiConsumer<Integer, String> action) {
+		slots.forEach((id, slot) -> {
+			int offset = offset(slot);
+			byte[] bytes = new byte[buffer.get(offset + LENGTH)];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = buffer.get(offset + USER_ID + i);
+			}
+			action.accept(id, new String(bytes, StandardCharsets.UTF_8));
+		});
+	}
+
+	/**
+	 * Writes a memory-mapped table to its file. The table must not be used afterwards.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (channel == null) {
+			return;
+		}
+		((MappedByteBuffer) buffer).force();
+		channel.close();
+	}
+
+	private static int offset(int slot) {
+		return HEADER_BYTES + slot * SLOT_BYTES;
+	}
+}
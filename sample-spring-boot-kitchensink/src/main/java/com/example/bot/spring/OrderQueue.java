@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.example.bot.spring;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.linecorp.bot.client.LineMessagingClient;
+import com.linecorp.bot.model.Multicast;
+import com.linecorp.bot.model.PushMessage;
+import com.linecorp.bot.model.message.TextMessage;
+import com.linecorp.bot.model.response.BotApiResponse;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Queue of drink orders. When an order is ready its customer gets a push message, and customers who
+ * have waited for {@value #PATIENCE} or more later orders give up and get a multicast message.
+ *
+ * <p>Orders are indexed by id, so announcing one touches only the orders it affects instead of
+ * notifying every waiting customer. They are also kept in an {@link OrderFile}. If
+ * {@code order-queue.file} is set, it is memory-mapped on that file and loaded on startup, so waiting
+ * customers aren't forgotten on restart. Orders don't expire; they leave the queue only as above.
+ * All methods are thread-safe.</p>
+ */
+@Slf4j
+@Component
+public class OrderQueue {
+	static final int PATIENCE = 7;
+	static final int MAX_ORDERS = 10_000;
+	private static final int MAX_MULTICAST_RECIPIENTS = 150;
+
+	private final LineMessagingClient lineMessagingClient;
+	private final OrderFile file;
+	// Order id to user id.
+	private final ConcurrentSkipListMap<Integer, String> orders = new ConcurrentSkipListMap<>();
+	// Guarded by this. Ids below it have their order stored already.
+	private int nextId;
+
+	@Autowired
+	public OrderQueue(@NonNull LineMessagingClient lineMessagingClient,
+					  @Value("${order-queue.file:}") String file) throws IOException {
+		this(lineMessagingClient, file.isEmpty() ? OrderFile.create(MAX_ORDERS)
+												 : OrderFile.open(Paths.get(file), MAX_ORDERS));
+	}
+
+	OrderQueue(@NonNull LineMessagingClient lineMessagingClient, @NonNull OrderFile file) {
+		this.lineMessagingClient = lineMessagingClient;
+		this.file = file;
+		file.forEach(orders::put);
+		nextId = file.getNextId();
+		// An order is stored before the next id; the process may have stopped in between.
+		if (!orders.isEmpty()) {
+			nextId = Math.max(nextId, orders.lastKey() + 1);
+		}
+		log.info("Loaded {} waiting orders", orders.size());
+	}
+
+	/**
+	 * Queues an order of the user and returns its id.
+	 *
+	 * @throws IllegalStateException if {@value #MAX_ORDERS} orders are waiting already.
+	 */
+	public synchronized int order(@NonNull String userId) {
+		int id = nextId;
+		// Stored before the id is issued, so a full file leaves the id to the next order.
+		file.put(id, userId);
+		file.setNextId(id + 1);
+		orders.put(id, userId);
+		nextId = id + 1;
+		return id;
+	}
+
+	/**
+	 * Announces that the order is ready. Its customer is notified, and so are the customers of orders
+	 * {@value #PATIENCE} or more before it, which leave the queue.
+	 *
+	 * @return {@code false} if the order was not in the queue. Nothing is done for ids never issued.
+	 */
+	public boolean ready(int id) {
+		if (!isIssued(id)) {
+			return false;
+		}
+
+		String userId = orders.remove(id);
+		if (userId != null) {
+			file.remove(id);
+			send(lineMessagingClient.pushMessage(
+					new PushMessage(userId, new TextMessage("Yay! Order " + id + " is ready!"))));
+		}
+
+		Set<String> givenUp = new LinkedHashSet<>();
+		Map.Entry<Integer, String> first;
+		while ((first = orders.firstEntry()) != null && first.getKey() + PATIENCE <= id) {
+			// Only the thread that removes an order notifies its customer.
+			if (orders.remove(first.getKey(), first.getValue())) {
+				file.remove(first.getKey());
+				givenUp.add(first.getValue());
+			}
+		}
+		multicast(givenUp, new TextMessage("Sorry for the wait. Your order has been cancelled."));
+		return userId != null;
+	}
+
+	/**
+	 * Returns the ids of waiting orders, oldest first.
+	 */
+	public List<Integer> getQueue() {
+		return new ArrayList<>(orders.keySet());
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		file.close();
+	}
+
+	// Synchronized with order(), so an issued order is in the queue already.
+	private synchronized boolean isIssued(int id) {
+		return id >= 1 && id < nextId;
+	}
+
+	private void multicast(Set<String> userIds, TextMessage message) {
+		Set<String> chunk = new LinkedHashSet<>();
+		for (String userId : userIds) {
+			chunk.add(userId);
+			if (chunk.size() == MAX_MULTICAST_RECIPIENTS) {
+				send(lineMessagingClient.multicast(new Multicast(chunk, message)));
+				chunk = new LinkedHashSet<>();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			send(lineMessagingClient.multicast(new Multicast(chunk, message)));
+		}
+	}
+
+	private static void send(CompletableFuture<BotApiResponse> response) {
+		response.whenComplete((apiResponse, throwable) -> {
+			if (throwable != null) {
+				log.warn("Failed to notify customers", throwable);
+			} else {
+				log.info("Sent messages: {}", apiResponse);
+			}
+		});
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.example.bot.spring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OrderFileTest {
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void freedSlotsAreReused() {
+		OrderFile target = OrderFile.create(2);
+		target.put(1, "U1");
+		target.put(2, "U2");
+
+		assertThatThrownBy(() -> target.put(3, "U3")).isInstanceOf(IllegalStateException.class);
+		assertThat(target.remove(1)).isTrue();
+		assertThat(target.remove(1)).isFalse();
+		target.put(3, "U3");
+
+		Map<Integer, String> orders = new HashMap<>();
+		target.forEach(orders::put);
+		assertThat(orders).containsOnlyKeys(2, 3).containsEntry(3, "U3");
+	}
+
+	@Test
+	public void userIdMustFitSlot() {
+		OrderFile target = OrderFile.create(1);
+		StringBuilder userId = new StringBuilder();
+		for (int i = 0; i <= OrderFile.MAX_USER_ID_BYTES; i++) {
+			userId.append('U');
+		}
+
+		assertThatThrownBy(() -> target.put(1, userId.toString())).isInstanceOf(IllegalArgumentException.class);
+		target.put(1, userId.substring(1));
+	}
+
+	@Test
+	public void ordersAndNextIdSurviveReopen() throws Exception {
+		Path file = temporaryFolder.newFile().toPath();
+		try (OrderFile target = OrderFile.open(file, 10)) {
+			assertThat(target.getNextId()).isEqualTo(1);
+			target.put(7, "あ");
+			target.setNextId(8);
+		}
+
+		try (OrderFile target = OrderFile.open(file, 10)) {
+			Map<Integer, String> orders = new HashMap<>();
+			target.forEach(orders::put);
+
+			assertThat(orders).containsOnly(entry(7, "あ"));
+			assertThat(target.getNextId()).isEqualTo(8);
+		}
+		assertThatThrownBy(() -> OrderFile.open(file, 20)).isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.example.bot.spring;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import com.linecorp.bot.client.LineMessagingClient;
+import com.linecorp.bot.model.Multicast;
+import com.linecorp.bot.model.PushMessage;
+
+public class OrderQueueTest {
+	@Rule
+	public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Mock
+	private LineMessagingClient lineMessagingClient;
+
+	private OrderQueue target;
+
+	@Before
+	public void setUp() {
+		when(lineMessagingClient.pushMessage(any(PushMessage.class))).thenReturn(completedFuture(null));
+		when(lineMessagingClient.multicast(any(Multicast.class))).thenReturn(completedFuture(null));
+		target = new OrderQueue(lineMessagingClient, OrderFile.create(OrderQueue.MAX_ORDERS));
+	}
+
+	@Test
+	public void readyNotifiesCustomerAndThoseWhoGaveUp() {
+		for (int i = 1; i <= 10; i++) {
+			target.order("U" + i);
+		}
+
+		// Do
+		assertThat(target.ready(9)).isTrue();
+
+		// Verify
+		ArgumentCaptor<PushMessage> push = ArgumentCaptor.forClass(PushMessage.class);
+		verify(lineMessagingClient).pushMessage(push.capture());
+		assertThat(push.getValue().getTo()).isEqualTo("U9");
+		ArgumentCaptor<Multicast> multicast = ArgumentCaptor.forClass(Multicast.class);
+		verify(lineMessagingClient).multicast(multicast.capture());
+		assertThat(multicast.getValue().getTo()).containsExactly("U1", "U2");
+		assertThat(target.getQueue()).containsExactly(3, 4, 5, 6, 7, 8, 10);
+	}
+
+	@Test
+	public void readyOfAnnouncedOrderOnlyExpiresOldOrders() {
+		for (int i = 1; i <= 10; i++) {
+			target.order("U" + i);
+		}
+		target.ready(8);
+
+		assertThat(target.ready(8)).isFalse();
+		assertThat(target.ready(9)).isTrue();
+
+		verify(lineMessagingClient, times(2)).pushMessage(any(PushMessage.class));
+		verify(lineMessagingClient, times(2)).multicast(any(Multicast.class));
+		assertThat(target.getQueue()).containsExactly(3, 4, 5, 6, 7, 10);
+	}
+
+	@Test
+	public void readyOfIdNeverIssuedDoesNothing() {
+		target.order("U1");
+		target.order("U2");
+
+		assertThat(target.ready(0)).isFalse();
+		assertThat(target.ready(3)).isFalse();
+		assertThat(target.ready(99_999)).isFalse();
+		assertThat(target.ready(Integer.MIN_VALUE)).isFalse();
+		assertThat(target.ready(Integer.MAX_VALUE)).isFalse();
+
+		verify(lineMessagingClient, never()).pushMessage(any(PushMessage.class));
+		verify(lineMessagingClient, never()).multicast(any(Multicast.class));
+		assertThat(target.getQueue()).containsExactly(1, 2);
+	}
+
+	@Test
+	public void multicastIsSplitByRecipientLimit() {
+		for (int i = 1; i <= 400 + OrderQueue.PATIENCE; i++) {
+			target.order("U" + i);
+		}
+
+		target.ready(400 + OrderQueue.PATIENCE);
+
+		verify(lineMessagingClient, times(3)).multicast(any(Multicast.class));
+		assertThat(target.getQueue()).hasSize(OrderQueue.PATIENCE - 1);
+	}
+
+	@Test
+	public void fullQueueDoesNotUseUpIds() {
+		int last = 0;
+		try {
+			while (true) {
+				last = target.order("U" + last);
+			}
+		} catch (IllegalStateException expected) {
+			// Full.
+		}
+		assertThat(last).isGreaterThanOrEqualTo(OrderQueue.MAX_ORDERS);
+		assertThat(target.ready(last + 1)).isFalse();
+
+		// Do
+		target.ready(last);
+
+		// Verify
+		assertThat(target.order("U")).isEqualTo(last + 1);
+	}
+
+	@Test
+	public void ordersSurviveRestart() throws Exception {
+		Path file = temporaryFolder.newFile().toPath();
+		try (OrderFile orderFile = OrderFile.open(file, OrderQueue.MAX_ORDERS)) {
+			OrderQueue queue = new OrderQueue(lineMessagingClient, orderFile);
+			queue.order("U1");
+			queue.order("U2");
+			queue.order("U3");
+			queue.ready(2);
+		}
+
+		try (OrderFile orderFile = OrderFile.open(file, OrderQueue.MAX_ORDERS)) {
+			OrderQueue queue = new OrderQueue(lineMessagingClient, orderFile);
+
+			assertThat(queue.getQueue()).containsExactly(1, 3);
+			assertThat(queue.order("U4")).isEqualTo(4);
+		}
+	}
+
+	@Test
+	public void everyOrderIsNotifiedOnceUnderConcurrency() throws Exception {
+		int orders = 10_000;
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < orders; i++) {
+				final int n = i;
+				futures.add(executor.submit(() -> {
+					int id = target.order("U" + n);
+					if (n % 3 == 0) {
+						target.ready(id);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			// Expires every order left by the concurrent ones.
+			int last = 0;
+			for (int i = 0; i < OrderQueue.PATIENCE; i++) {
+				last = target.order("L" + i);
+			}
+			target.ready(last);
+		} finally {
+			executor.shutdown();
+		}
+
+		ArgumentCaptor<PushMessage> push = ArgumentCaptor.forClass(PushMessage.class);
+		// An order may be expired by a later ready order before its own is announced.
+		verify(lineMessagingClient, atLeast(0)).pushMessage(push.capture());
+		ArgumentCaptor<Multicast> multicast = ArgumentCaptor.forClass(Multicast.class);
+		verify(lineMessagingClient, atLeast(0)).multicast(multicast.capture());
+		List<String> notified = new ArrayList<>();
+		push.getAllValues().forEach(message -> notified.add(message.getTo()));
+		multicast.getAllValues().forEach(message -> notified.addAll(message.getTo()));
+		assertThat(notified).doesNotHaveDuplicates().hasSize(orders + 1);
+		assertThat(target.getQueue()).hasSize(OrderQueue.PATIENCE - 1);
+	}
+}